@@ -2,11 +2,18 @@ package com.github.omaraouini.quickcrud.base.advice;
 
 import com.github.omaraouini.quickcrud.base.dto.ErrorListReponse;
 import com.github.omaraouini.quickcrud.base.dto.ErrorResponse;
+import com.github.omaraouini.quickcrud.base.exception.DeadlineExceededException;
+import com.github.omaraouini.quickcrud.base.exception.InvalidRequestException;
 import com.github.omaraouini.quickcrud.base.exception.ResourceNotFoundException;
+import com.github.omaraouini.quickcrud.base.exception.ServiceOverloadedException;
 import com.github.omaraouini.quickcrud.base.utils.ValidationMsgConst;
 import com.github.omaraouini.quickcrud.base.utils.Translator;
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.TransactionTimedOutException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -27,6 +34,38 @@ public class BaseExceptionHandler {
                 .build();
     }
 
+    @ExceptionHandler(InvalidRequestException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleInvalidRequestException(InvalidRequestException exception) {
+        return ErrorResponse.builder()
+                .message(exception.getLocalizedMessage())
+                .path(null)
+                .build();
+    }
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ErrorResponse> handleServiceOverloadedException(ServiceOverloadedException exception) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(exception.getRetryAfterSeconds()))
+                .body(ErrorResponse.builder()
+                        .message(exception.getLocalizedMessage())
+                        .path(null)
+                        .build());
+    }
+
+    /**
+     * the request deadline has passed, before the call or while a statement was running
+     */
+    @ExceptionHandler({DeadlineExceededException.class, TransactionTimedOutException.class, QueryTimeoutException.class,
+            jakarta.persistence.QueryTimeoutException.class})
+    @ResponseStatus(HttpStatus.GATEWAY_TIMEOUT)
+    public ErrorResponse handleDeadlineExceededException(RuntimeException exception) {
+        return ErrorResponse.builder()
+                .message(Translator.toLocale(ValidationMsgConst.DEADLINE_EXCEEDED))
+                .path(null)
+                .build();
+    }
+
     @ExceptionHandler(ConstraintViolationException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorListReponse handleConstraintViolationException(ConstraintViolationException exception) {
@@ -0,0 +1,68 @@
+package com.github.omaraouini.quickcrud.base.aot;
+
+import com.github.omaraouini.quickcrud.base.controller.BaseController;
+import com.github.omaraouini.quickcrud.base.mapping.BaseMapper;
+import com.github.omaraouini.quickcrud.base.service.BaseCrudService;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.ReflectionHints;
+import org.springframework.beans.factory.aot.BeanRegistrationAotContribution;
+import org.springframework.beans.factory.aot.BeanRegistrationAotProcessor;
+import org.springframework.beans.factory.support.RegisteredBean;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.lang.NonNull;
+import org.springframework.util.ClassUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * registers the runtime hints for the generic types of the application beans extending the base classes:
+ * <ul>
+ *     <li>{@link BaseController}: the dto and id types are bound from the requests and serialized to the responses</li>
+ *     <li>{@link BaseCrudService}: the entity type is read reflectively by the example probes, the dto type is serialized</li>
+ *     <li>{@link BaseMapper}: the entity and dto types</li>
+ * </ul>
+ * the generic types are resolved at build time, so no reflection on them is needed at startup
+ * @author aouin
+ * Date: 19/10/2026
+ * Time: 16:45
+ */
+public class BaseCrudBeanRegistrationAotProcessor implements BeanRegistrationAotProcessor {
+
+    private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public BeanRegistrationAotContribution processAheadOfTime(@NonNull RegisteredBean registeredBean) {
+        Class<?> beanClass = ClassUtils.getUserClass(registeredBean.getBeanClass());
+        List<Class<?>> entityTypes = new ArrayList<>();
+        List<Class<?>> bindingTypes = new ArrayList<>();
+
+        if (BaseCrudService.class.isAssignableFrom(beanClass)) {
+            Class<?>[] types = GenericTypeResolver.resolveTypeArguments(beanClass, BaseCrudService.class);
+            if (types != null) {
+                entityTypes.add(types[0]);
+                bindingTypes.add(types[1]);
+            }
+        } else if (BaseController.class.isAssignableFrom(beanClass)) {
+            Class<?>[] types = GenericTypeResolver.resolveTypeArguments(beanClass, BaseController.class);
+            if (types != null)
+                bindingTypes.addAll(List.of(types));
+        } else if (BaseMapper.class.isAssignableFrom(beanClass)) {
+            Class<?>[] types = GenericTypeResolver.resolveTypeArguments(beanClass, BaseMapper.class);
+            if (types != null) {
+                entityTypes.add(types[0]);
+                bindingTypes.add(types[1]);
+            }
+        }
+
+        if (entityTypes.isEmpty() && bindingTypes.isEmpty())
+            return null;
+
+        return (generationContext, beanRegistrationCode) -> {
+            ReflectionHints reflectionHints = generationContext.getRuntimeHints().reflection();
+            entityTypes.forEach(type -> reflectionHints.registerType(type, MemberCategory.values()));
+            this.bindingRegistrar.registerReflectionHints(reflectionHints, bindingTypes.toArray(new Class<?>[0]));
+        };
+    }
+}
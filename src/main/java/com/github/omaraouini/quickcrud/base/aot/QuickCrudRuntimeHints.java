@@ -0,0 +1,71 @@
+package com.github.omaraouini.quickcrud.base.aot;
+
+import com.github.omaraouini.quickcrud.base.audit.AuditRetention;
+import com.github.omaraouini.quickcrud.base.deadline.CancelledStatementExceptionOverride;
+import com.github.omaraouini.quickcrud.base.deadline.RequestTimeout;
+import com.github.omaraouini.quickcrud.base.dto.*;
+import com.github.omaraouini.quickcrud.base.entity.BaseCodeEntity;
+import com.github.omaraouini.quickcrud.base.entity.BaseEntity;
+import com.github.omaraouini.quickcrud.base.entity.BaseEntityAuditable;
+import com.github.omaraouini.quickcrud.base.entity.BaseEntitySyncable;
+import com.github.omaraouini.quickcrud.base.querypolicy.QueryPolicy;
+import com.github.omaraouini.quickcrud.base.repository.cache.CacheRegion;
+import com.github.omaraouini.quickcrud.base.repository.fetch.FetchPlan;
+import com.github.omaraouini.quickcrud.base.repository.fetch.FetchPlans;
+import com.github.omaraouini.quickcrud.base.service.changefeed.ChangeFeed;
+import com.github.omaraouini.quickcrud.base.service.coalescing.CoalescedReads;
+import com.github.omaraouini.quickcrud.base.security.CredentialCacheConfigurer;
+import com.github.omaraouini.quickcrud.base.sharding.Sharded;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.lang.NonNull;
+
+import java.util.stream.Stream;
+
+/**
+ * runtime hints of the base package, needed when the application is processed ahead of time
+ * (spring aot, native image) <br>
+ * it registers the message bundles, the base entities and dtos, the annotations read at runtime
+ * and the envers classes instantiated reflectively by hibernate
+ * @author aouin
+ * Date: 19/10/2026
+ * Time: 16:30
+ */
+public class QuickCrudRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final String[] ENVERS_TYPES = {
+            "org.hibernate.envers.DefaultRevisionEntity",
+            "org.hibernate.envers.DefaultTrackingModifiedEntitiesRevisionEntity",
+            "org.hibernate.envers.RevisionListener",
+            "org.hibernate.envers.boot.internal.EnversIntegrator",
+            "org.hibernate.envers.boot.internal.EnversServiceImpl",
+            "org.hibernate.envers.event.spi.EnversListenerDuplicationStrategy"
+    };
+
+    @Override
+    public void registerHints(@NonNull RuntimeHints hints, ClassLoader classLoader) {
+        hints.resources().registerPattern("language/messages*.properties");
+
+        Stream.of(BaseEntity.class, BaseEntityAuditable.class, BaseEntitySyncable.class, BaseCodeEntity.class)
+                .forEach(type -> hints.reflection().registerType(type, MemberCategory.values()));
+
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                BaseDto.class, BaseDtoAuditable.class, BaseCodeDto.class, ErrorResponse.class, ErrorListReponse.class,
+                MultiGetResponse.class, UpsertResult.class, AggregateRow.class, ImportReport.class, ChangeEvent.class,
+                ChangesResponse.class, BatchOperation.class, BatchRequest.class, BatchResult.class, BatchResponse.class);
+
+        Stream.of(FetchPlan.class, FetchPlans.class, CoalescedReads.class, ChangeFeed.class, Sharded.class,
+                        CacheRegion.class, RequestTimeout.class, QueryPolicy.class, AuditRetention.class)
+                .forEach(type -> hints.reflection().registerType(type, MemberCategory.INVOKE_PUBLIC_METHODS));
+
+        // instantiated from META-INF/spring.factories by spring security, and from its class name by hikari
+        Stream.of(CredentialCacheConfigurer.class, CancelledStatementExceptionOverride.class)
+                .forEach(type -> hints.reflection().registerType(type, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS));
+
+        Stream.of(ENVERS_TYPES)
+                .forEach(type -> hints.reflection().registerType(TypeReference.of(type), MemberCategory.values()));
+    }
+}
@@ -0,0 +1,32 @@
+package com.github.omaraouini.quickcrud.base.audit;
+
+import java.lang.annotation.*;
+
+/**
+ * configures the retention of the envers history of an audited entity when {@code quickcrud.audit.retention.enabled} is true <br>
+ * the revisions older than {@code days} are compacted: the last state of each entity before the cutoff is kept,
+ * or the last state of each period of {@code snapshotPeriodDays} days when it is positive <br>
+ * a negative value uses the default of {@link AuditRetentionProperties}, {@code days = 0} keeps the whole history <br>
+ * example usage:
+ * <pre>
+ *     {@code
+ *     @Entity
+ *     @AuditRetention(days = 365, snapshotPeriodDays = 30)
+ *     @Table(name = "people")
+ *     public class Person extends BaseEntityAuditable<Integer> {
+ *     ...
+ *     }
+ *     }
+ * </pre>
+ * @author aouin
+ * Date: 22/10/2026
+ * Time: 21:20
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface AuditRetention {
+    int days() default -1;
+
+    int snapshotPeriodDays() default -1;
+}
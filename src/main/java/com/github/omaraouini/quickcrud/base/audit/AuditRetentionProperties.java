@@ -0,0 +1,61 @@
+package com.github.omaraouini.quickcrud.base.audit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * configuration of the retention of the envers history, the entities can override the days and the snapshot period
+ * with {@link AuditRetention} <br>
+ * example:
+ * <pre>
+ *     {@code
+ *     quickcrud.audit.retention.enabled=true
+ *     quickcrud.audit.retention.days=365
+ *     quickcrud.audit.retention.snapshot-period-days=30
+ *     quickcrud.audit.retention.archive=true
+ *     quickcrud.audit.retention.cron=0 0 3 * * *
+ *     }
+ * </pre>
+ * @author aouin
+ * Date: 22/10/2026
+ * Time: 21:25
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "quickcrud.audit.retention")
+public class AuditRetentionProperties {
+    private boolean enabled = false;
+    /**
+     * age of the compacted revisions, zero keeps the whole history of the entities without {@link AuditRetention}
+     */
+    private int days = 0;
+    /**
+     * the last state of each period of these days is kept before the cutoff, zero keeps only the last one
+     */
+    private int snapshotPeriodDays = 0;
+    /**
+     * revisions compacted in each transaction
+     */
+    private int batchSize = 1000;
+    /**
+     * pause between two batches, to throttle the load on the database
+     */
+    private long pauseMillis = 100;
+    /**
+     * moves the compacted rows to the archive tables instead of deleting them, the archive tables are not created automatically
+     */
+    private boolean archive = false;
+    /**
+     * suffix of the archive table of each audit table
+     */
+    private String archiveSuffix = "_ARCHIVE";
+    /**
+     * deletes the revisions older than the cutoff no longer referenced by any audit table, ignored when archiving
+     */
+    private boolean purgeRevisions = true;
+    /**
+     * schedule of the compaction, "-" disables it (the task can still be run programmatically)
+     */
+    private String cron = "0 0 3 * * *";
+}
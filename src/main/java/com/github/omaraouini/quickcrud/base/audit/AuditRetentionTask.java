@@ -0,0 +1,338 @@
+package com.github.omaraouini.quickcrud.base.audit;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.envers.boot.internal.EnversService;
+import org.hibernate.envers.configuration.Configuration;
+import org.hibernate.envers.configuration.internal.RevisionInfoConfiguration;
+import org.hibernate.envers.strategy.internal.ValidityAuditStrategy;
+import org.hibernate.metamodel.MappingMetamodel;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.SingleTableEntityPersister;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.support.CronTrigger;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ClassUtils;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * compacts the envers history of the audited entities, so the audit tables and the revisions table do not grow unbounded <br>
+ * for each audited entity with a retention, the rows of the revisions older than the cutoff are removed when a newer row
+ * of the same entity exists before the cutoff (in the same snapshot period when one is configured),
+ * so the state of each entity at the cutoff (and at the end of each period) can still be read with the audit reader <br>
+ * the removed rows are deleted, or moved to the archive table of the audit table when {@code quickcrud.audit.retention.archive} is true,
+ * then the old revisions no longer referenced by any audit table are deleted <br>
+ * the revisions are processed in keyset batches of {@code quickcrud.audit.retention.batch-size}, each in its own transaction,
+ * with a pause between two batches <br>
+ * only the default audit strategy is supported, the validity strategy links each row to the next one
+ * (column {@code REVEND}), so its history is left untouched <br>
+ * the entity hierarchies with a table per class are skipped as well, their rows span several audit tables,
+ * and so are the audited collections, the revisions referenced by them are never deleted
+ * @author aouin
+ * Date: 22/10/2026
+ * Time: 21:35
+ */
+@Slf4j
+public class AuditRetentionTask {
+
+    private static final long DAY_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+    private final AuditRetentionProperties properties;
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate windowTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private ThreadPoolTaskScheduler scheduler;
+
+    public AuditRetentionTask(AuditRetentionProperties properties, EntityManagerFactory entityManagerFactory, DataSource dataSource,
+                              PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.entityManagerFactory = entityManagerFactory;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        // the keyset windows read at most one batch of revisions
+        this.windowTemplate = new JdbcTemplate(dataSource);
+        this.windowTemplate.setMaxRows(Math.max(1, properties.getBatchSize()));
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public void start() {
+        if ("-".equals(this.properties.getCron()))
+            return;
+        this.scheduler = new ThreadPoolTaskScheduler();
+        this.scheduler.setThreadNamePrefix("audit-retention-");
+        this.scheduler.setDaemon(true);
+        this.scheduler.initialize();
+        this.scheduler.schedule(this::run, new CronTrigger(this.properties.getCron()));
+    }
+
+    public void shutdown() {
+        if (this.scheduler != null)
+            this.scheduler.shutdown();
+    }
+
+    /**
+     * runs the compaction of all the audited entities, a run already in progress is not started again
+     * @return the number of compacted rows of each audit table
+     */
+    public Map<String, Long> run() {
+        if (!this.running.compareAndSet(false, true))
+            return Map.of();
+        long start = System.nanoTime();
+        try {
+            Model model = this.model();
+            if (model == null)
+                return Map.of();
+
+            Map<String, Long> compacted = new LinkedHashMap<>();
+            for (AuditTable table : model.tables) {
+                if (Thread.currentThread().isInterrupted())
+                    break;
+                long rows = this.compact(model, table);
+                if (rows > 0)
+                    compacted.put(table.name, rows);
+            }
+            long revisions = this.properties.isPurgeRevisions() && !this.properties.isArchive() ? this.purgeRevisions(model) : 0;
+            log.info("audit retention: {} rows {} and {} revisions deleted in {} ms", compacted.values().stream().mapToLong(Long::longValue).sum(),
+                    this.properties.isArchive() ? "archived" : "deleted", revisions, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return compacted;
+        } catch (RuntimeException e) {
+            log.error("audit retention failed", e);
+            throw e;
+        } finally {
+            this.running.set(false);
+        }
+    }
+
+    private long compact(Model model, AuditTable table) {
+        long cutoff = System.currentTimeMillis() - table.days * DAY_MILLIS;
+        Long oldest = this.toMillis(this.jdbcTemplate.queryForObject(
+                "select min(" + model.timestampColumn + ") from " + model.revisionTable + " where " + model.timestampColumn + " < ?",
+                Object.class, model.timestamp(cutoff)));
+        if (oldest == null)
+            return 0;
+
+        if (table.snapshotPeriodDays <= 0)
+            return this.compactPeriod(model, table, Long.MIN_VALUE, cutoff);
+        long compacted = 0;
+        long period = table.snapshotPeriodDays * DAY_MILLIS;
+        for (long from = Math.floorDiv(oldest, period) * period; from < cutoff && !Thread.currentThread().isInterrupted(); from += period)
+            compacted += this.compactPeriod(model, table, from, Math.min(from + period, cutoff));
+        return compacted;
+    }
+
+    /**
+     * removes the rows of the revisions between from (inclusive) and to (exclusive) with a newer row of the same entity in the period
+     */
+    private long compactPeriod(Model model, AuditTable table, long from, long to) {
+        String ids = table.idColumns.stream().map(column -> "a." + column).collect(Collectors.joining(", "));
+        String sameEntity = table.idColumns.stream().map(column -> "b." + column + " = a." + column).collect(Collectors.joining(" and "));
+        String superseded = "select " + ids + ", a." + table.revisionColumn + " from " + table.name + " a"
+                + " join " + model.revisionTable + " ra on ra." + model.revisionColumn + " = a." + table.revisionColumn
+                + " where a." + table.revisionColumn + " >= ? and a." + table.revisionColumn + " <= ?"
+                + " and ra." + model.timestampColumn + " >= ? and ra." + model.timestampColumn + " < ?"
+                + " and exists (select 1 from " + table.name + " b join " + model.revisionTable + " rb on rb." + model.revisionColumn + " = b." + table.revisionColumn
+                + " where " + sameEntity + " and b." + table.revisionColumn + " > a." + table.revisionColumn + " and rb." + model.timestampColumn + " < ?)";
+        String byKey = table.idColumns.stream().map(column -> column + " = ?").collect(Collectors.joining(" and "))
+                + " and " + table.revisionColumn + " = ?";
+        String archive = "insert into " + table.name + this.properties.getArchiveSuffix() + " select * from " + table.name + " where " + byKey;
+        String delete = "delete from " + table.name + " where " + byKey;
+
+        long compacted = 0;
+        long lastRevision = Long.MIN_VALUE;
+        while (!Thread.currentThread().isInterrupted()) {
+            List<Long> revisions = this.windowTemplate.queryForList("select " + model.revisionColumn + " from " + model.revisionTable
+                    + " where " + model.timestampColumn + " >= ? and " + model.timestampColumn + " < ? and " + model.revisionColumn + " > ?"
+                    + " order by " + model.revisionColumn, Long.class, model.timestamp(from), model.timestamp(to), lastRevision);
+            if (revisions.isEmpty())
+                break;
+            long first = revisions.get(0);
+            lastRevision = revisions.get(revisions.size() - 1);
+
+            List<Object[]> keys = this.jdbcTemplate.query(superseded, (resultSet, row) -> {
+                Object[] key = new Object[table.idColumns.size() + 1];
+                for (int column = 0; column < key.length; column++)
+                    key[column] = resultSet.getObject(column + 1);
+                return key;
+            }, first, lastRevision, model.timestamp(from), model.timestamp(to), model.timestamp(to));
+            if (!keys.isEmpty()) {
+                this.transactionTemplate.executeWithoutResult(status -> {
+                    if (this.properties.isArchive())
+                        this.jdbcTemplate.batchUpdate(archive, keys);
+                    this.jdbcTemplate.batchUpdate(delete, keys);
+                });
+                compacted += keys.size();
+            }
+            if (revisions.size() < this.properties.getBatchSize() || !this.pause())
+                break;
+        }
+        return compacted;
+    }
+
+    /**
+     * deletes the revisions older than the shortest retention that are no longer referenced by any audit table
+     */
+    private long purgeRevisions(Model model) {
+        if (model.trackEntitiesChanged) {
+            log.info("audit retention: the revisions are not purged, the modified entity names of each revision are tracked");
+            return 0;
+        }
+        int days = model.tables.stream().mapToInt(table -> table.days).min().orElse(0);
+        if (days <= 0)
+            return 0;
+        long cutoff = System.currentTimeMillis() - days * DAY_MILLIS;
+        StringJoiner delete = new StringJoiner(" and ", "delete from " + model.revisionTable + " where " + model.revisionColumn + " = ? and ", "");
+        model.referencingTables.forEach((table, column) -> delete.add("not exists (select 1 from " + table + " where " + column + " = ?)"));
+        int parameters = model.referencingTables.size() + 1;
+
+        long purged = 0;
+        long lastRevision = Long.MIN_VALUE;
+        while (!Thread.currentThread().isInterrupted()) {
+            List<Long> revisions = this.windowTemplate.queryForList("select " + model.revisionColumn + " from " + model.revisionTable
+                    + " where " + model.timestampColumn + " < ? and " + model.revisionColumn + " > ? order by " + model.revisionColumn,
+                    Long.class, model.timestamp(cutoff), lastRevision);
+            if (revisions.isEmpty())
+                break;
+            lastRevision = revisions.get(revisions.size() - 1);
+            List<Object[]> arguments = revisions.stream().map(revision -> {
+                Object[] values = new Object[parameters];
+                Arrays.fill(values, revision);
+                return values;
+            }).toList();
+            int[][] counts = this.transactionTemplate.execute(status -> this.jdbcTemplate.batchUpdate(delete.toString(), arguments, arguments.size(),
+                    (statement, values) -> {
+                        for (int parameter = 0; parameter < values.length; parameter++)
+                            statement.setObject(parameter + 1, values[parameter]);
+                    }));
+            if (counts != null)
+                purged += Arrays.stream(counts).flatMapToInt(Arrays::stream).filter(count -> count > 0).sum();
+            if (revisions.size() < this.properties.getBatchSize() || !this.pause())
+                break;
+        }
+        return purged;
+    }
+
+    private boolean pause() {
+        if (this.properties.getPauseMillis() <= 0)
+            return true;
+        try {
+            Thread.sleep(this.properties.getPauseMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private Long toMillis(Object timestamp) {
+        if (timestamp instanceof Number number)
+            return number.longValue();
+        if (timestamp instanceof Date date)
+            return date.getTime();
+        if (timestamp instanceof LocalDateTime dateTime)
+            return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return null;
+    }
+
+    /**
+     * reads the audit tables and the revisions table from the envers configuration
+     * @return null when envers is not initialized or its audit strategy is not supported
+     */
+    private Model model() {
+        SessionFactoryImplementor sessionFactory = this.entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        EnversService enversService = sessionFactory.getServiceRegistry().getService(EnversService.class);
+        if (enversService == null || !enversService.isInitialized())
+            return null;
+        Configuration configuration = enversService.getConfig();
+        if (configuration.getAuditStrategy() instanceof ValidityAuditStrategy) {
+            log.warn("audit retention: the validity audit strategy is not supported, the history is not compacted");
+            return null;
+        }
+
+        MappingMetamodel metamodel = sessionFactory.getMappingMetamodel();
+        RevisionInfoConfiguration revisionInfo = configuration.getRevisionInfo();
+        AbstractEntityPersister revisionPersister = (AbstractEntityPersister) metamodel.getEntityDescriptor(revisionInfo.getRevisionInfoEntityName());
+        String timestampProperty = revisionInfo.getRevisionInfoTimestampData().getName();
+        Class<?> timestampType = revisionPersister.findAttributeMapping(timestampProperty).getJavaType().getJavaTypeClass();
+        Model model = new Model(revisionPersister.getTableName(), revisionPersister.getIdentifierColumnNames()[0],
+                revisionPersister.getPropertyColumnNames(timestampProperty)[0],
+                Number.class.isAssignableFrom(ClassUtils.resolvePrimitiveIfNecessary(timestampType)), configuration.isTrackEntitiesChanged());
+
+        String revisionField = configuration.getRevisionFieldName();
+        metamodel.forEachEntityDescriptor(descriptor -> {
+            AbstractEntityPersister persister = (AbstractEntityPersister) descriptor;
+            String revisionColumn = this.revisionColumn(persister, revisionField);
+            if (revisionColumn != null && !persister.getEntityName().equals(revisionPersister.getEntityName()))
+                model.referencingTables.put(persister.getTableName(), revisionColumn);
+
+            if (!enversService.getEntitiesConfigurations().isVersioned(persister.getEntityName())
+                    || !persister.getEntityName().equals(persister.getRootEntityName()) || persister.getMappedClass() == null)
+                return;
+            AuditRetention retention = AnnotatedElementUtils.findMergedAnnotation(persister.getMappedClass(), AuditRetention.class);
+            int days = retention != null && retention.days() >= 0 ? retention.days() : this.properties.getDays();
+            int snapshotPeriodDays = retention != null && retention.snapshotPeriodDays() >= 0 ? retention.snapshotPeriodDays() : this.properties.getSnapshotPeriodDays();
+            if (days <= 0)
+                return;
+            AbstractEntityPersister auditPersister = (AbstractEntityPersister) metamodel.getEntityDescriptor(configuration.getAuditEntityName(persister.getEntityName()));
+            if (persister.getEntityMetamodel().hasSubclasses() && !(auditPersister instanceof SingleTableEntityPersister)) {
+                log.warn("audit retention: the history of {} is not compacted, its hierarchy has a table per class", persister.getEntityName());
+                return;
+            }
+            String auditRevisionColumn = this.revisionColumn(auditPersister, revisionField);
+            List<String> idColumns = Arrays.stream(auditPersister.getIdentifierColumnNames())
+                    .filter(column -> !column.equals(auditRevisionColumn))
+                    .toList();
+            if (auditRevisionColumn != null && !idColumns.isEmpty())
+                model.tables.add(new AuditTable(auditPersister.getTableName(), idColumns, auditRevisionColumn, days, snapshotPeriodDays));
+        });
+        return model;
+    }
+
+    private String revisionColumn(AbstractEntityPersister persister, String revisionField) {
+        return Arrays.stream(persister.getIdentifierColumnNames())
+                .filter(column -> column.equalsIgnoreCase(revisionField))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private record AuditTable(String name, List<String> idColumns, String revisionColumn, int days, int snapshotPeriodDays) {}
+
+    private static final class Model {
+        private final String revisionTable;
+        private final String revisionColumn;
+        private final String timestampColumn;
+        private final boolean numericTimestamp;
+        private final boolean trackEntitiesChanged;
+        private final List<AuditTable> tables = new ArrayList<>();
+        private final Map<String, String> referencingTables = new LinkedHashMap<>();
+
+        private Model(String revisionTable, String revisionColumn, String timestampColumn, boolean numericTimestamp, boolean trackEntitiesChanged) {
+            this.revisionTable = revisionTable;
+            this.revisionColumn = revisionColumn;
+            this.timestampColumn = timestampColumn;
+            this.numericTimestamp = numericTimestamp;
+            this.trackEntitiesChanged = trackEntitiesChanged;
+        }
+
+        /**
+         * @return the parameter of a revision timestamp, the epoch millis or a sql timestamp depending on the revision entity
+         */
+        private Object timestamp(long millis) {
+            if (this.numericTimestamp)
+                return millis;
+            return new Timestamp(Math.max(millis, 0));
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.github.omaraouini.quickcrud.base.config;
+
+import com.github.omaraouini.quickcrud.base.audit.AuditRetentionProperties;
+import com.github.omaraouini.quickcrud.base.audit.AuditRetentionTask;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+
+/**
+ * schedules the compaction of the envers history when {@code quickcrud.audit.retention.enabled} is true
+ * @author aouin
+ * Date: 22/10/2026
+ * Time: 22:05
+ */
+@Configuration
+@EnableConfigurationProperties(AuditRetentionProperties.class)
+@ConditionalOnProperty(name = "quickcrud.audit.retention.enabled", havingValue = "true")
+public class AuditRetentionConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "shutdown")
+    public AuditRetentionTask auditRetentionTask(AuditRetentionProperties properties, EntityManagerFactory entityManagerFactory,
+                                                 DataSource dataSource, PlatformTransactionManager transactionManager) {
+        return new AuditRetentionTask(properties, entityManagerFactory, dataSource, transactionManager);
+    }
+}
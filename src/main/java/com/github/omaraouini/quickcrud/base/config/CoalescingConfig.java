@@ -0,0 +1,48 @@
+package com.github.omaraouini.quickcrud.base.config;
+
+import com.github.omaraouini.quickcrud.base.service.coalescing.CoalescedReads;
+import com.github.omaraouini.quickcrud.base.service.coalescing.CoalescingInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcher;
+import org.springframework.aop.support.annotation.AnnotationClassFilter;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.lang.NonNull;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+
+/**
+ * registers the coalescing of the {@code get} calls of the services annotated with {@link CoalescedReads},
+ * except the multi get by ids
+ * @author aouin
+ * Date: 23/10/2026
+ * Time: 09:45
+ */
+@Configuration
+public class CoalescingConfig {
+
+    /**
+     * ordered before the transaction advisor, so the callers waiting for an identical read hold no connection,
+     * and after the sharding advisor
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor coalescingAdvisor() {
+        ComposablePointcut pointcut = new ComposablePointcut(new AnnotationClassFilter(CoalescedReads.class, true), new StaticMethodMatcher() {
+            @Override
+            public boolean matches(@NonNull Method method, @NonNull Class<?> targetClass) {
+                return method.getName().equals("get")
+                        && !(method.getParameterCount() == 1 && Collection.class.isAssignableFrom(method.getParameterTypes()[0]));
+            }
+        });
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut, new CoalescingInterceptor());
+        advisor.setOrder(Ordered.LOWEST_PRECEDENCE - 1);
+        return advisor;
+    }
+}
@@ -0,0 +1,35 @@
+package com.github.omaraouini.quickcrud.base.config;
+
+import com.github.omaraouini.quickcrud.base.limiter.ConcurrencyLimitInterceptor;
+import com.github.omaraouini.quickcrud.base.limiter.ConcurrencyLimitProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * registers the adaptive concurrency limits of the controllers when {@code quickcrud.concurrency-limit.enabled} is true
+ * @author aouin
+ * Date: 19/10/2026
+ * Time: 15:50
+ */
+@Configuration
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+public class ConcurrencyLimitConfig implements WebMvcConfigurer {
+
+    private final ConcurrencyLimitProperties properties;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public ConcurrencyLimitConfig(ConcurrencyLimitProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (this.properties.isEnabled())
+            registry.addInterceptor(new ConcurrencyLimitInterceptor(this.properties, this.meterRegistry.getIfAvailable()));
+    }
+}
@@ -0,0 +1,65 @@
+package com.github.omaraouini.quickcrud.base.config;
+
+import com.github.omaraouini.quickcrud.base.deadline.CancelledStatementExceptionOverride;
+import com.github.omaraouini.quickcrud.base.deadline.DeadlineInterceptor;
+import com.github.omaraouini.quickcrud.base.deadline.DeadlineJpaDialect;
+import com.github.omaraouini.quickcrud.base.deadline.DeadlineProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * registers the request deadlines of the controllers when {@code quickcrud.deadline.enabled} is true,
+ * and applies them as timeout to the transactions of the jpa transaction manager
+ * (the hikari pool keeps the connections whose statement was cancelled, see {@link CancelledStatementExceptionOverride})
+ * @author aouin
+ * Date: 22/10/2026
+ * Time: 17:30
+ */
+@Configuration
+@EnableConfigurationProperties(DeadlineProperties.class)
+public class DeadlineConfig implements WebMvcConfigurer {
+
+    private final DeadlineProperties properties;
+
+    public DeadlineConfig(DeadlineProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (this.properties.isEnabled())
+            registry.addInterceptor(new DeadlineInterceptor(this.properties));
+    }
+
+    /**
+     * wraps the jpa dialect once the transaction manager has resolved it from the entity manager factory,
+     * and sets the exception override of the hikari pool before it starts, unless the application has its own
+     */
+    @Bean
+    @ConditionalOnProperty(name = "quickcrud.deadline.enabled", havingValue = "true")
+    public static BeanPostProcessor deadlineTransactionManagerPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(@NonNull Object bean, @NonNull String beanName) {
+                if (bean instanceof HikariDataSource dataSource && dataSource.getExceptionOverrideClassName() == null)
+                    dataSource.setExceptionOverrideClassName(CancelledStatementExceptionOverride.class.getName());
+                return bean;
+            }
+
+            @Override
+            public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+                if (bean instanceof JpaTransactionManager transactionManager && !(transactionManager.getJpaDialect() instanceof DeadlineJpaDialect))
+                    transactionManager.setJpaDialect(new DeadlineJpaDialect(transactionManager.getJpaDialect()));
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,42 @@
+package com.github.omaraouini.quickcrud.base.config;
+
+import com.github.omaraouini.quickcrud.base.repository.fetch.FetchPlanInterceptor;
+import com.github.omaraouini.quickcrud.base.repository.fetch.RepeatedQueryDetectionFilter;
+import com.github.omaraouini.quickcrud.base.repository.fetch.RepeatedQueryDetector;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * registers the controller level fetch plans and, when enabled, the N+1 selects detection
+ * (usually only in the test profile)
+ * @author aouin
+ * Date: 19/10/2026
+ * Time: 10:25
+ */
+@Configuration
+public class FetchPlanConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new FetchPlanInterceptor());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "quickcrud.jpa.repeated-query-detection.enabled", havingValue = "true")
+    public HibernatePropertiesCustomizer repeatedQueryDetectorCustomizer(@Value("${quickcrud.jpa.repeated-query-detection.max-repeats:2}") int maxRepeats) {
+        RepeatedQueryDetector detector = new RepeatedQueryDetector(maxRepeats);
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, detector);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "quickcrud.jpa.repeated-query-detection.enabled", havingValue = "true")
+    public RepeatedQueryDetectionFilter repeatedQueryDetectionFilter() {
+        return new RepeatedQueryDetectionFilter();
+    }
+}
@@ -0,0 +1,45 @@
+package com.github.omaraouini.quickcrud.base.config;
+
+import com.github.omaraouini.quickcrud.base.service.groupcommit.GroupCommit;
+import com.github.omaraouini.quickcrud.base.service.groupcommit.GroupCommitInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcher;
+import org.springframework.aop.support.annotation.AnnotationClassFilter;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.lang.NonNull;
+
+import java.lang.reflect.Method;
+
+/**
+ * registers the group commit of the {@code post} calls of the services annotated with {@link GroupCommit}
+ * @author aouin
+ * Date: 23/10/2026
+ * Time: 09:25
+ */
+@Configuration
+public class GroupCommitConfig {
+
+    /**
+     * ordered before the transaction advisor, so the callers wait for their batch without a transaction,
+     * and after the sharding advisor
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor groupCommitAdvisor() {
+        ComposablePointcut pointcut = new ComposablePointcut(new AnnotationClassFilter(GroupCommit.class, true), new StaticMethodMatcher() {
+            @Override
+            public boolean matches(@NonNull Method method, @NonNull Class<?> targetClass) {
+                return method.getName().equals("post") && method.getParameterCount() == 1;
+            }
+        });
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut, new GroupCommitInterceptor());
+        advisor.setOrder(Ordered.LOWEST_PRECEDENCE - 1);
+        return advisor;
+    }
+}
@@ -0,0 +1,27 @@
+package com.github.omaraouini.quickcrud.base.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.Map;
+
+/**
+ * OSIV free mode: when {@code quickcrud.jpa.osiv-free} is true the open session (entity manager) in view is disabled,
+ * so a request holds a jdbc connection only while the service runs its read only (or read write) transaction,
+ * not during the json serialization of the response <br>
+ * the {@link com.github.omaraouini.quickcrud.base.service.CrudService} reads map the dtos inside their transaction,
+ * use {@link com.github.omaraouini.quickcrud.base.repository.fetch.FetchPlan} for the associations read by custom code out of them
+ * @author aouin
+ * Date: 21/10/2026
+ * Time: 11:20
+ */
+public class OsivFreeEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (environment.getProperty("quickcrud.jpa.osiv-free", Boolean.class, false))
+            environment.getPropertySources().addFirst(new MapPropertySource("quickcrud-osiv-free", Map.of("spring.jpa.open-in-view", false)));
+    }
+}
@@ -0,0 +1,27 @@
+package com.github.omaraouini.quickcrud.base.config;
+
+import com.github.omaraouini.quickcrud.base.querypolicy.IndexCheck;
+import com.github.omaraouini.quickcrud.base.querypolicy.QueryPolicyVerifier;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * registers the verifier of the controller query policies, with the default max page size of the controllers
+ * @author aouin
+ * Date: 22/10/2026
+ * Time: 19:05
+ */
+@Configuration
+public class QueryPolicyConfig {
+
+    @Bean
+    public QueryPolicyVerifier queryPolicyVerifier(EntityManagerFactory entityManagerFactory, DataSource dataSource,
+                                                   @Value("${quickcrud.query.index-check:WARN}") IndexCheck indexCheck,
+                                                   @Value("${quickcrud.query.max-page-size:1000}") int maxPageSize) {
+        return new QueryPolicyVerifier(entityManagerFactory, dataSource, indexCheck, maxPageSize);
+    }
+}
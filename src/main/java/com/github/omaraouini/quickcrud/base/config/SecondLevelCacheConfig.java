@@ -0,0 +1,60 @@
+package com.github.omaraouini.quickcrud.base.config;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.github.omaraouini.quickcrud.base.repository.cache.QuickCrudRegionFactory;
+import com.github.omaraouini.quickcrud.base.repository.cache.SecondLevelCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.SharedCacheMode;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.MissingCacheStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.HibernateMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * enables the hibernate second level cache (and the query cache) on a local caffeine jcache
+ * when {@code quickcrud.jpa.cache.enabled} is true <br>
+ * only the entities annotated with {@code @Cacheable} are cached (read-write), the envers audit entities are never cached <br>
+ * when micrometer is configured the hibernate statistics (cache hits, misses and puts per region, query cache requests)
+ * are exposed with the {@code hibernate.*} meters
+ * @author aouin
+ * Date: 22/10/2026
+ * Time: 14:35
+ */
+@Configuration
+@ConditionalOnProperty(name = "quickcrud.jpa.cache.enabled", havingValue = "true")
+@EnableConfigurationProperties(SecondLevelCacheProperties.class)
+public class SecondLevelCacheConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(SecondLevelCacheProperties properties) {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, properties.isQueryCache());
+            hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, new QuickCrudRegionFactory(properties));
+            // the persistence unit built by spring leaves the mode unspecified, hibernate would not cache the @Cacheable entities
+            hibernateProperties.put(AvailableSettings.JAKARTA_SHARED_CACHE_MODE, SharedCacheMode.ENABLE_SELECTIVE);
+            hibernateProperties.put(AvailableSettings.DEFAULT_CACHE_CONCURRENCY_STRATEGY, "read-write");
+            hibernateProperties.put(ConfigSettings.PROVIDER, CaffeineCachingProvider.class.getName());
+            hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, MissingCacheStrategy.CREATE.getExternalRepresentation());
+            if (properties.isStatistics())
+                hibernateProperties.put(AvailableSettings.GENERATE_STATISTICS, true);
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "quickcrud.jpa.cache.statistics", havingValue = "true", matchIfMissing = true)
+    public SmartInitializingSingleton secondLevelCacheMetrics(ObjectProvider<EntityManagerFactory> entityManagerFactory, ObjectProvider<MeterRegistry> meterRegistry) {
+        return () -> meterRegistry.ifAvailable(registry -> entityManagerFactory.orderedStream().forEach(factory ->
+                new HibernateMetrics(factory.unwrap(SessionFactory.class), "entityManagerFactory", Tags.empty()).bindTo(registry)));
+    }
+}
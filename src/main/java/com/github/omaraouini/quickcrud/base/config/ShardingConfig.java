@@ -0,0 +1,137 @@
+package com.github.omaraouini.quickcrud.base.config;
+
+import com.github.omaraouini.quickcrud.base.service.CrudService;
+import com.github.omaraouini.quickcrud.base.sharding.ShardRoutingDataSource;
+import com.github.omaraouini.quickcrud.base.sharding.Sharded;
+import com.github.omaraouini.quickcrud.base.sharding.ShardingInterceptor;
+import com.github.omaraouini.quickcrud.base.sharding.ShardingProperties;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcher;
+import org.springframework.aop.support.annotation.AnnotationClassFilter;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.lang.NonNull;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * registers the sharded data source and the routing of the services annotated with {@link Sharded}
+ * when {@code quickcrud.sharding.enabled} is true <br>
+ * hibernate does not create the schema (it would do it on the first shard only) unless
+ * {@code spring.jpa.hibernate.ddl-auto} is set, create it on each shard with the init scripts or a migration tool
+ * @author aouin
+ * Date: 22/10/2026
+ * Time: 10:05
+ */
+@Configuration
+@ConditionalOnProperty(name = "quickcrud.sharding.enabled", havingValue = "true")
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    private static final Set<String> CRUD_METHODS = Arrays.stream(CrudService.class.getMethods())
+            .map(Method::getName)
+            .collect(Collectors.toUnmodifiableSet());
+
+    @Bean
+    @Primary
+    public ShardRoutingDataSource dataSource(ShardingProperties properties, ResourceLoader resourceLoader) {
+        if (properties.getShards().isEmpty())
+            throw new IllegalStateException("quickcrud.sharding.shards must declare at least one data source");
+
+        List<DataSource> shards = new ArrayList<>();
+        for (ShardingProperties.Shard shard : properties.getShards()) {
+            DataSource dataSource = DataSourceBuilder.create()
+                    .url(shard.getUrl())
+                    .username(shard.getUsername())
+                    .password(shard.getPassword())
+                    .driverClassName(shard.getDriverClassName())
+                    .build();
+            this.initShard(dataSource, shards.size(), properties, resourceLoader);
+            shards.add(dataSource);
+        }
+        return new ShardRoutingDataSource(shards);
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService shardingExecutor(ShardingProperties properties) {
+        AtomicInteger threads = new AtomicInteger();
+        return Executors.newFixedThreadPool(properties.getParallelism(), runnable -> {
+            Thread thread = new Thread(runnable, "sharding-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * ordered before the transaction advisor, so the shard is selected before the connection is acquired,
+     * and before the other advisors running outside of the transaction (eg: the group commit)
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public Advisor shardingAdvisor(ShardRoutingDataSource dataSource, ExecutorService shardingExecutor, ShardingProperties properties) {
+        ComposablePointcut pointcut = new ComposablePointcut(new AnnotationClassFilter(Sharded.class, true), new StaticMethodMatcher() {
+            @Override
+            public boolean matches(@NonNull Method method, @NonNull Class<?> targetClass) {
+                return CRUD_METHODS.contains(method.getName());
+            }
+        });
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut,
+                new ShardingInterceptor(dataSource.shardCount(), shardingExecutor, properties.getMaxMergeOffset()));
+        advisor.setOrder(Ordered.LOWEST_PRECEDENCE - 2);
+        return advisor;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer shardingSchemaCustomizer(Environment environment) {
+        return hibernateProperties -> {
+            if (!environment.containsProperty("spring.jpa.hibernate.ddl-auto"))
+                hibernateProperties.put(AvailableSettings.HBM2DDL_AUTO, "none");
+        };
+    }
+
+    private void initShard(DataSource dataSource, int shard, ShardingProperties properties, ResourceLoader resourceLoader) {
+        int shardCount = properties.getShards().size();
+        for (String location : properties.getInitScripts()) {
+            try (Connection connection = dataSource.getConnection()) {
+                String script = resourceLoader.getResource(location).getContentAsString(StandardCharsets.UTF_8)
+                        .replace("{shard}", String.valueOf(shard))
+                        .replace("{shards}", String.valueOf(shardCount))
+                        .replace("{firstId}", String.valueOf(shard == 0 ? shardCount : shard));
+                ScriptUtils.executeSqlScript(connection, new ByteArrayResource(script.getBytes(StandardCharsets.UTF_8), location));
+            } catch (IOException e) {
+                throw new UncheckedIOException("cannot read the sharding init script " + location, e);
+            } catch (SQLException e) {
+                throw new IllegalStateException("cannot execute the sharding init script " + location + " on shard " + shard, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.github.omaraouini.quickcrud.base.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * training run support, used to create a class data sharing (CDS) archive of the application <br>
+ * when {@code quickcrud.training-run} is true and the jvm dumps an archive at exit ({@code -XX:ArchiveClassesAtExit},
+ * see the {@code aot-cds} maven profile) the application context is closed as soon as it is ready,
+ * so the jvm exits and dumps the classes loaded during the startup <br>
+ * the jvm is never exited by the listener: an application keeping non daemon threads after its context is closed
+ * must exit from its main method, eg: {@code System.exit(SpringApplication.exit(SpringApplication.run(Application.class, args)))}
+ * when the training run property is set <br>
+ * the listener is always registered and reads the property at runtime: with spring aot the conditions are evaluated
+ * when the application is processed, where the property is not set
+ * @author aouin
+ * Date: 19/10/2026
+ * Time: 17:00
+ */
+@Slf4j
+@Configuration
+public class TrainingRunConfig {
+
+    private static final String ARCHIVE_AT_EXIT = "-XX:ArchiveClassesAtExit";
+
+    @Bean
+    public ApplicationListener<ApplicationReadyEvent> trainingRunExitListener() {
+        return event -> {
+            if (!event.getApplicationContext().getEnvironment().getProperty("quickcrud.training-run", Boolean.class, false))
+                return;
+            if (ManagementFactory.getRuntimeMXBean().getInputArguments().stream().noneMatch(argument -> argument.startsWith(ARCHIVE_AT_EXIT))) {
+                log.warn("quickcrud.training-run is ignored, the jvm is not started with {}", ARCHIVE_AT_EXIT);
+                return;
+            }
+            log.info("training run completed, closing the application context");
+            SpringApplication.exit(event.getApplicationContext());
+        };
+    }
+}
@@ -0,0 +1,32 @@
+package com.github.omaraouini.quickcrud.base.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.omaraouini.quickcrud.base.warmup.WarmupProperties;
+import com.github.omaraouini.quickcrud.base.warmup.WarmupRunner;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * registers the warmup run before the application accepts traffic when {@code quickcrud.warmup.enabled} is true
+ * @author aouin
+ * Date: 22/10/2026
+ * Time: 20:20
+ */
+@Configuration
+@EnableConfigurationProperties(WarmupProperties.class)
+@ConditionalOnProperty(name = "quickcrud.warmup.enabled", havingValue = "true")
+public class WarmupConfig {
+
+    @Bean
+    public WarmupRunner warmupRunner(WarmupProperties properties, ApplicationContext applicationContext, DataSource dataSource,
+                                     ObjectMapper objectMapper, ObjectProvider<MeterRegistry> meterRegistry) {
+        return new WarmupRunner(properties, applicationContext, dataSource, objectMapper, meterRegistry.getIfAvailable());
+    }
+}
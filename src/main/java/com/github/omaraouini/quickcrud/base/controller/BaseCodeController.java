@@ -0,0 +1,61 @@
+package com.github.omaraouini.quickcrud.base.controller;
+
+import com.github.omaraouini.quickcrud.base.dto.BaseCodeDto;
+import com.github.omaraouini.quickcrud.base.dto.UpsertResult;
+import com.github.omaraouini.quickcrud.base.service.CodeCrudService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import java.util.List;
+
+/**
+ * base controller class for the value entities having a unique code,
+ * in addition to the {@link BaseController} endpoints it has the following methods:
+ * <ul>
+ *     <li>getByCode: a method that returns an entity by its code</li>
+ *     <li>upsert: a method that inserts or updates an entity by its code</li>
+ *     <li>upsertAll: a method that inserts or updates a list of entities by their code, useful to sync code tables</li>
+ * </ul>
+ * example usage:
+ * <pre>
+ *     {@code
+ *     @RestController
+ *     @RequestMapping("/value-codes")
+ *     public class ValueCodesController extends BaseCodeController<ValueCodesDto> {
+ *     public ValueCodesController(ValueCodesService service) {
+ *     super(service);
+ *     }
+ *     }
+ *     }
+ * </pre>
+ * @author aouin
+ * Date: 20/10/2026
+ * Time: 11:00
+ */
+public abstract class BaseCodeController<D extends BaseCodeDto> extends BaseController<D, Integer> {
+
+    private final CodeCrudService<D> codeService;
+
+    protected BaseCodeController(CodeCrudService<D> codeService) {
+        super(codeService);
+        this.codeService = codeService;
+    }
+
+    @GetMapping("/code/{code}")
+    public ResponseEntity<D> getByCode(@PathVariable final String code) {
+        return ResponseEntity.ok(codeService.get(code));
+    }
+
+    @PostMapping("/_upsert")
+    public ResponseEntity<UpsertResult> upsert(@RequestBody final D toUpsert) {
+        return ResponseEntity.ok(codeService.upsert(toUpsert));
+    }
+
+    @PostMapping("/_upsert/_bulk")
+    public ResponseEntity<UpsertResult> upsertAll(@RequestBody final List<D> toUpsert) {
+        return ResponseEntity.ok(codeService.upsert(toUpsert));
+    }
+}
@@ -1,16 +1,46 @@
 package com.github.omaraouini.quickcrud.base.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.omaraouini.quickcrud.base.deadline.RequestTimeout;
+import com.github.omaraouini.quickcrud.base.dto.AggregateRow;
 import com.github.omaraouini.quickcrud.base.dto.BaseDto;
+import com.github.omaraouini.quickcrud.base.dto.ChangeEvent;
+import com.github.omaraouini.quickcrud.base.dto.ChangesResponse;
+import com.github.omaraouini.quickcrud.base.dto.ImportReport;
+import com.github.omaraouini.quickcrud.base.dto.MultiGetResponse;
+import com.github.omaraouini.quickcrud.base.importer.CsvRecordReader;
+import com.github.omaraouini.quickcrud.base.importer.ImportRecord;
+import com.github.omaraouini.quickcrud.base.importer.NdjsonRecordReader;
+import com.github.omaraouini.quickcrud.base.querypolicy.QueryPolicy;
+import com.github.omaraouini.quickcrud.base.querypolicy.QueryPolicyEnforcer;
+import com.github.omaraouini.quickcrud.base.querypolicy.QueryPolicyVerifier;
 import com.github.omaraouini.quickcrud.base.service.CrudService;
+import com.github.omaraouini.quickcrud.base.service.changefeed.ChangeSink;
+import com.github.omaraouini.quickcrud.base.service.changefeed.ChangeSubscription;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
 import java.io.Serializable;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
 
 /**
  * base controller class used to define the common endpoints of all controllers
@@ -18,11 +48,20 @@ import java.io.Serializable;
  * it will provide CRUD automatically for all entities <br>
  * this class has the following methods:
  * <ul>
- *     <li>get: a method that returns a page of entities</li>
+ *     <li>get: a method that returns a page of entities, capped to {@code quickcrud.query.max-page-size},
+ *     the sorts and filters can be restricted with {@link com.github.omaraouini.quickcrud.base.querypolicy.QueryPolicy}</li>
  *     <li>get: a method that returns an entity by its id</li>
+ *     <li>get / mget: methods that return the entities of a list of ids (query parameter or body), reporting the missing ones</li>
+ *     <li>changes: a method that returns the entities changed since a cursor and the ids of the deleted ones, eg: /_changes?since=cursor&amp;size=100,
+ *     the entities must extend {@link com.github.omaraouini.quickcrud.base.entity.BaseEntitySyncable}</li>
+ *     <li>aggregate: a method that returns the groups and metrics of the entities matching the example, eg: /_aggregate?groupBy=age&amp;metric=count</li>
  *     <li>put: a method that updates an entity by its id</li>
  *     <li>post: a method that creates an entity</li>
  *     <li>delete: a method that deletes an entity by its id</li>
+ *     <li>importAll: a method that streams the request body (application/x-ndjson or text/csv with header) into the service,
+ *     returning the per line error report</li>
+ *     <li>events: a server sent events stream of the changes of the entities, resumed from the Last-Event-ID header
+ *     (or the lastEventId parameter), the service must be annotated with {@link com.github.omaraouini.quickcrud.base.service.changefeed.ChangeFeed}</li>
  *     <li>example usage:
  *     <pre>
  *         {@code
@@ -53,15 +92,56 @@ import java.io.Serializable;
 @Slf4j
 public abstract class BaseController<D extends BaseDto<I>, I extends Serializable> {
 
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String CSV = "text/csv";
+
     private final CrudService<D,I> service;
+    private final Class<D> dtoClass;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired(required = false)
+    private QueryPolicyVerifier queryPolicyVerifier;
+
+    @Value("${quickcrud.query.max-page-size:1000}")
+    private int defaultMaxPageSize;
+
+    @Value("${quickcrud.change-feed.timeout-millis:1800000}")
+    private long changeFeedTimeoutMillis;
+
+    private QueryPolicyEnforcer queryPolicy;
 
+    @SuppressWarnings("unchecked")
     protected BaseController(CrudService<D,I> crudService) {
         this.service = crudService;
+        Class<?>[] typeArguments = GenericTypeResolver.resolveTypeArguments(this.getClass(), BaseController.class);
+        this.dtoClass = typeArguments == null ? null : (Class<D>) typeArguments[0];
     }
 
+    /**
+     * @return the service of the controller, used by the {@link BatchController}
+     */
+    CrudService<D,I> service() {
+        return this.service;
+    }
+
+    /**
+     * without verifier the policy is enforced but its attributes are not checked against the indexes
+     */
+    @PostConstruct
+    void initQueryPolicy() {
+        this.queryPolicy = this.queryPolicyVerifier != null ? this.queryPolicyVerifier.enforcer(this.getClass(), this.service)
+                : new QueryPolicyEnforcer(AnnotatedElementUtils.findMergedAnnotation(this.getClass(), QueryPolicy.class), this.defaultMaxPageSize);
+    }
+
+    /**
+     * without size parameter the page is as large as the max page size of the controller
+     */
     @GetMapping
     public ResponseEntity<Page<D>> get(@ModelAttribute final D dto, @PageableDefault(sort = {"id"}, page = 0, value = Integer.MAX_VALUE) final Pageable pageable){
-        return ResponseEntity.ok(service.get(dto,pageable));
+        this.queryPolicy.filters(dto);
+        return ResponseEntity.ok(service.get(dto,this.queryPolicy.pageable(pageable)));
     }
 
     @GetMapping("/{id}")
@@ -69,6 +149,28 @@ public abstract class BaseController<D extends BaseDto<I>, I extends Serializabl
         return ResponseEntity.ok(service.get(id));
     }
 
+    @GetMapping(params = "ids")
+    public ResponseEntity<MultiGetResponse<D,I>> get(@RequestParam final List<I> ids){
+        return ResponseEntity.ok(service.get(ids));
+    }
+
+    @PostMapping("/_mget")
+    public ResponseEntity<MultiGetResponse<D,I>> mget(@RequestBody final List<I> ids){
+        return ResponseEntity.ok(service.get(ids));
+    }
+
+    @GetMapping("/_changes")
+    public ResponseEntity<ChangesResponse<D,I>> changes(@RequestParam(required = false) final String since, @RequestParam(defaultValue = "100") final int size){
+        return ResponseEntity.ok(service.changes(since, size));
+    }
+
+    @GetMapping("/_aggregate")
+    public ResponseEntity<List<AggregateRow>> aggregate(@ModelAttribute final D dto, @RequestParam(defaultValue = "") final List<String> groupBy, @RequestParam(defaultValue = "count") final List<String> metric){
+        this.queryPolicy.filters(dto);
+        this.queryPolicy.groupBy(groupBy);
+        return ResponseEntity.ok(service.aggregate(dto, groupBy, metric));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<D> put(@PathVariable final I id, @RequestBody final D toUpdate){
         return ResponseEntity.ok(service.put(id, toUpdate));
@@ -79,6 +181,44 @@ public abstract class BaseController<D extends BaseDto<I>, I extends Serializabl
         return new ResponseEntity<>(service.post(toCreate), HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/_import", consumes = {NDJSON, CSV})
+    @RequestTimeout(millis = RequestTimeout.NONE)
+    public ResponseEntity<ImportReport> importAll(final HttpServletRequest request) throws IOException {
+        MediaType contentType = MediaType.parseMediaType(request.getContentType());
+        Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(request.getInputStream(), charset))) {
+            Iterator<ImportRecord<D>> records = contentType.isCompatibleWith(MediaType.parseMediaType(CSV))
+                    ? new CsvRecordReader<>(reader, this.objectMapper, this.dtoClass)
+                    : new NdjsonRecordReader<>(reader, this.objectMapper, this.dtoClass);
+            return ResponseEntity.ok(service.importAll(records));
+        }
+    }
+
+    @GetMapping(value = "/_events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @RequestTimeout(millis = RequestTimeout.NONE)
+    public SseEmitter events(@RequestHeader(value = "Last-Event-ID", required = false) final Long lastEventIdHeader,
+                             @RequestParam(required = false) final Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(this.changeFeedTimeoutMillis);
+        ChangeSubscription<D,I> subscription = service.subscribe(lastEventIdHeader != null ? lastEventIdHeader : lastEventId, new ChangeSink<>() {
+            @Override
+            public void send(ChangeEvent<D, I> event) throws IOException {
+                SseEmitter.SseEventBuilder sseEvent = SseEmitter.event().data(event, MediaType.APPLICATION_JSON);
+                if (event.getRevision() != null)
+                    sseEvent.id(event.getRevision().toString());
+                emitter.send(sseEvent);
+            }
+
+            @Override
+            public void close() {
+                emitter.complete();
+            }
+        });
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(e -> subscription.close());
+        return emitter;
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<String> delete(@PathVariable final I id) {
         service.delete(id);
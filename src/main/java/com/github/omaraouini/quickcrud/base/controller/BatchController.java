@@ -0,0 +1,711 @@
+package com.github.omaraouini.quickcrud.base.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.omaraouini.quickcrud.base.advice.BaseExceptionHandler;
+import com.github.omaraouini.quickcrud.base.deadline.DeadlineJpaDialect;
+import com.github.omaraouini.quickcrud.base.dto.*;
+import com.github.omaraouini.quickcrud.base.exception.InvalidRequestException;
+import com.github.omaraouini.quickcrud.base.sharding.Sharded;
+import com.github.omaraouini.quickcrud.base.utils.Translator;
+import com.github.omaraouini.quickcrud.base.utils.ValidationMsgConst;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.NonNull;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.access.WebInvocationPrivilegeEvaluator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ServletRequestPathUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Serializable;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * endpoint executing an ordered list of operations over the resources of the controllers extending {@link BaseController},
+ * when {@code quickcrud.batch.enabled} is true <br>
+ * each operation is executed by the controller mapped on its path (so the overridden controller methods apply),
+ * the supported operations are:
+ * <ul>
+ *     <li>GET /resource/{id}</li>
+ *     <li>POST /resource</li>
+ *     <li>PUT /resource/{id}</li>
+ *     <li>DELETE /resource/{id}</li>
+ * </ul>
+ * an atomic batch runs in one transaction, the first failing operation stops it and rolls it back;
+ * otherwise each operation runs in its own transaction and the failures do not stop the batch <br>
+ * the errors are converted by the exception handlers of the application (eg: {@link BaseExceptionHandler}), as for a single request <br>
+ * each operation is checked against the url based security rules of its path (403 when it is denied)
+ * and goes through the handler interceptors of its endpoint, so it takes its own concurrency limit permit and has its own deadline
+ * (an interceptor stopping the operation makes it fail), its response is buffered and never reaches the response of the batch,
+ * within an atomic batch the deadline of each operation is applied as the timeout of the batch transaction <br>
+ * the operations on the services annotated with {@link Sharded} need a transaction per shard, they are rejected in an atomic batch
+ * example:
+ * <pre>
+ *     {@code
+ *     POST /_batch
+ *     {"atomic": true, "operations": [
+ *         {"method": "POST", "path": "/people", "body": {"name": "john"}},
+ *         {"method": "PUT", "path": "/people/12", "body": {"id": 12, "name": "jane"}},
+ *         {"method": "DELETE", "path": "/people/13"}
+ *     ]}
+ *     }
+ * </pre>
+ * @author aouin
+ * Date: 22/10/2026
+ * Time: 21:10
+ */
+@Slf4j
+@RestController
+@ConditionalOnProperty(name = "quickcrud.batch.enabled", havingValue = "true")
+public class BatchController {
+
+    private static final ConversionService CONVERSION_SERVICE = DefaultConversionService.getSharedInstance();
+
+    private record Resource(String path, BaseController<?, ?> controller, Class<?> dtoClass, Class<?> idClass, boolean sharded) {}
+
+    private final ApplicationContext applicationContext;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final HandlerExceptionResolver exceptionResolver;
+    private final ObjectProvider<WebInvocationPrivilegeEvaluator> privilegeEvaluator;
+    private volatile List<Resource> resources;
+
+    @Value("${quickcrud.batch.max-operations:100}")
+    private int maxOperations;
+
+    @Value("${quickcrud.sharding.enabled:false}")
+    private boolean sharding;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * @param exceptionResolver the exception resolvers of the dispatcher servlet
+     */
+    public BatchController(ApplicationContext applicationContext, ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+                           @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver,
+                           ObjectProvider<WebInvocationPrivilegeEvaluator> privilegeEvaluator) {
+        this.applicationContext = applicationContext;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.exceptionResolver = exceptionResolver;
+        this.privilegeEvaluator = privilegeEvaluator;
+    }
+
+    @PostMapping("${quickcrud.batch.path:/_batch}")
+    public ResponseEntity<BatchResponse> batch(@RequestBody final BatchRequest request, final HttpServletRequest httpRequest,
+                                               final HttpServletResponse httpResponse) {
+        List<BatchOperation> operations = request.getOperations() == null ? List.of() : request.getOperations();
+        if (operations.size() > this.maxOperations)
+            throw new InvalidRequestException(Translator.toLocale(ValidationMsgConst.BATCH_TOO_LARGE, new Object[]{this.maxOperations}));
+
+        if (!request.isAtomic())
+            return ResponseEntity.ok(BatchResponse.builder()
+                    .committed(true)
+                    .results(operations.stream().map(operation -> this.execute(operation, httpRequest, httpResponse, false)).toList())
+                    .build());
+
+        // the sharding interceptor cannot route the operations of a transaction already bound to a connection
+        for (BatchOperation operation : operations) {
+            Resource resource = operation.getPath() == null ? null : this.resource(operation.getPath());
+            if (resource != null && resource.sharded())
+                throw new InvalidRequestException(Translator.toLocale(ValidationMsgConst.BATCH_SHARDED_ATOMIC, new Object[]{resource.path()}));
+        }
+
+        return ResponseEntity.ok(this.transactionTemplate.execute(status -> {
+            List<BatchResult> results = new ArrayList<>(operations.size());
+            for (BatchOperation operation : operations) {
+                BatchResult result = this.execute(operation, httpRequest, httpResponse, true);
+                if (result.getStatus() >= 400) {
+                    status.setRollbackOnly();
+                    return BatchResponse.builder()
+                            .committed(false)
+                            .results(this.rolledBack(results.size(), result, operations.size()))
+                            .build();
+                }
+                results.add(result);
+            }
+            return BatchResponse.builder()
+                    .committed(true)
+                    .results(results)
+                    .build();
+        }));
+    }
+
+    /**
+     * executes an operation as a request on its path: checks its url based security rules, then runs it between the
+     * {@code preHandle} and {@code afterCompletion} of the interceptors of its endpoint, as the dispatcher servlet would
+     */
+    private BatchResult execute(BatchOperation operation, HttpServletRequest httpRequest, HttpServletResponse httpResponse, boolean atomic) {
+        String method = operation.getMethod() == null ? "" : operation.getMethod().toUpperCase();
+        String path = operation.getPath() == null ? "" : operation.getPath();
+        OperationRequest request = new OperationRequest(httpRequest, method, path);
+        OperationResponse response = new OperationResponse(httpResponse);
+        HandlerExecutionChain chain = null;
+        int preHandled = 0;
+        Exception failure = null;
+        BatchResult result;
+        try {
+            Resource resource = this.resource(path);
+            String id = resource == null || path.length() <= resource.path().length() ? null : path.substring(resource.path().length() + 1);
+            boolean supported = switch (method) {
+                case "POST" -> id == null;
+                case "GET", "PUT", "DELETE" -> id != null;
+                default -> false;
+            };
+            if (resource == null || !supported || (id != null && (id.isEmpty() || id.contains("/"))))
+                throw this.invalidOperation(operation);
+            if (!this.allowed(request))
+                throw new AccessDeniedException(path);
+
+            chain = this.handler(request, operation);
+            boolean handled = true;
+            for (HandlerInterceptor interceptor : chain.getInterceptorList()) {
+                if (!interceptor.preHandle(request, response, chain.getHandler())) {
+                    handled = false;
+                    break;
+                }
+                preHandled++;
+            }
+            result = handled ? this.invoke(resource, method, id, operation, atomic) : this.rejected(operation, response);
+        } catch (AccessDeniedException e) {
+            result = BatchResult.builder()
+                    .status(HttpStatus.FORBIDDEN.value())
+                    .body(ErrorResponse.builder().message(Translator.toLocale(ValidationMsgConst.BATCH_FORBIDDEN,
+                            new Object[]{operation.getMethod(), operation.getPath()})).build())
+                    .build();
+        } catch (Exception e) {
+            failure = e;
+            result = this.error(e, request, response, chain == null ? null : chain.getHandler());
+        }
+        response.setStatus(result.getStatus());
+        if (chain != null)
+            this.afterCompletion(chain, preHandled, request, response, failure);
+        return result;
+    }
+
+    /**
+     * an interceptor returning false from {@code preHandle} has stopped the operation: its result has the error status
+     * set by the interceptor (500 if it set none) and the body it wrote, so an atomic batch is rolled back
+     */
+    private BatchResult rejected(BatchOperation operation, OperationResponse response) {
+        Object body = this.body(response);
+        return BatchResult.builder()
+                .status(response.getStatus() >= 400 ? response.getStatus() : HttpStatus.INTERNAL_SERVER_ERROR.value())
+                .body(body != null ? body : ErrorResponse.builder().message(Translator.toLocale(ValidationMsgConst.BATCH_OPERATION_REJECTED,
+                        new Object[]{operation.getMethod(), operation.getPath()})).build())
+                .build();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private BatchResult invoke(Resource resource, String method, String id, BatchOperation operation, boolean atomic) {
+        // the transaction of an atomic batch has begun before the deadline of the operation was set
+        Integer previousTimeout = atomic ? DeadlineJpaDialect.applyDeadline(this.entityManager) : null;
+        try {
+            BaseController controller = resource.controller();
+            ResponseEntity<?> response = switch (method) {
+                case "GET" -> controller.get((Serializable) this.id(resource, id));
+                case "POST" -> controller.post((BaseDto) this.dto(resource, operation));
+                case "PUT" -> controller.put((Serializable) this.id(resource, id), (BaseDto) this.dto(resource, operation));
+                default -> controller.delete((Serializable) this.id(resource, id));
+            };
+            return BatchResult.builder()
+                    .status(response.getStatusCode().value())
+                    .body(response.getBody())
+                    .build();
+        } finally {
+            if (atomic)
+                DeadlineJpaDialect.restoreTimeout(this.entityManager, previousTimeout);
+        }
+    }
+
+    private void afterCompletion(HandlerExecutionChain chain, int preHandled, OperationRequest request, OperationResponse response, Exception failure) {
+        List<HandlerInterceptor> interceptors = chain.getInterceptorList();
+        for (int index = preHandled - 1; index >= 0; index--) {
+            try {
+                interceptors.get(index).afterCompletion(request, response, chain.getHandler(), failure);
+            } catch (Exception e) {
+                log.error("afterCompletion of a batch operation threw an exception", e);
+            }
+        }
+    }
+
+    /**
+     * @return whether the url based security rules allow the current user to call the operation
+     */
+    private boolean allowed(OperationRequest request) {
+        WebInvocationPrivilegeEvaluator evaluator = this.privilegeEvaluator.getIfAvailable();
+        return evaluator == null || evaluator.isAllowed(request.getContextPath(), request.getServletPath() + (request.getPathInfo() == null ? "" : request.getPathInfo()),
+                request.getMethod(), SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    private HandlerExecutionChain handler(OperationRequest request, BatchOperation operation) {
+        try {
+            ServletRequestPathUtils.parseAndCache(request);
+            HandlerExecutionChain chain = this.applicationContext.getBean("requestMappingHandlerMapping", HandlerMapping.class).getHandler(request);
+            if (chain == null)
+                throw this.invalidOperation(operation);
+            return chain;
+        } catch (InvalidRequestException e) {
+            throw e;
+        } catch (Exception e) {
+            throw this.invalidOperation(operation);
+        }
+    }
+
+    /**
+     * converts the exception with the exception resolvers of the dispatcher servlet, as for a single request
+     * (the {@code @ExceptionHandler} methods of the controller and of the {@code @ControllerAdvice}, whatever their arguments,
+     * then the {@code @ResponseStatus} of the exception and the standard spring mvc exceptions), into the buffered response of the operation
+     */
+    private BatchResult error(Exception exception, OperationRequest request, OperationResponse response, Object handler) {
+        response.reset();
+        try {
+            if (this.exceptionResolver.resolveException(request, response, handler, exception) != null)
+                return BatchResult.builder().status(response.getStatus()).body(this.body(response)).build();
+        } catch (RuntimeException e) {
+            log.warn("cannot convert the error of a batch operation", e);
+        }
+        log.error("batch operation failed", exception);
+        return BatchResult.builder()
+                .status(HttpStatus.INTERNAL_SERVER_ERROR.value())
+                .body(ErrorResponse.builder().message(Translator.toLocale(ValidationMsgConst.BATCH_OPERATION_FAILED)).build())
+                .build();
+    }
+
+    /**
+     * @return the body written in the response of an operation, parsed when it is json, or the message of its {@code sendError}
+     */
+    private Object body(OperationResponse response) {
+        byte[] content = response.content();
+        if (content.length == 0)
+            return response.errorMessage() == null ? null : ErrorResponse.builder().message(response.errorMessage()).build();
+        String contentType = response.getContentType();
+        if (contentType != null) {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON) || mediaType.getSubtype().endsWith("+json")) {
+                try {
+                    return this.objectMapper.readTree(content);
+                } catch (IOException e) {
+                    log.warn("cannot parse the json body of a batch operation", e);
+                }
+            }
+        }
+        return new String(content, Charset.forName(response.getCharacterEncoding()));
+    }
+
+    /**
+     * results of an atomic batch rolled back at the operation {@code failedIndex}
+     */
+    private List<BatchResult> rolledBack(int failedIndex, BatchResult failed, int size) {
+        BatchResult notApplied = BatchResult.builder()
+                .status(HttpStatus.FAILED_DEPENDENCY.value())
+                .body(ErrorResponse.builder().message(Translator.toLocale(ValidationMsgConst.BATCH_ROLLED_BACK)).build())
+                .build();
+        List<BatchResult> results = new ArrayList<>(size);
+        for (int index = 0; index < size; index++)
+            results.add(index == failedIndex ? failed : notApplied);
+        return results;
+    }
+
+    private Object id(Resource resource, String id) {
+        return CONVERSION_SERVICE.convert(id, resource.idClass());
+    }
+
+    private Object dto(Resource resource, BatchOperation operation) {
+        try {
+            return this.objectMapper.treeToValue(operation.getBody(), resource.dtoClass());
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            throw new InvalidRequestException(Translator.toLocale(ValidationMsgConst.BATCH_INVALID_BODY, new Object[]{operation.getPath()}));
+        }
+    }
+
+    private InvalidRequestException invalidOperation(BatchOperation operation) {
+        return new InvalidRequestException(Translator.toLocale(ValidationMsgConst.BATCH_INVALID_OPERATION,
+                new Object[]{operation.getMethod(), operation.getPath()}));
+    }
+
+    /**
+     * @return the resource whose path is the longest prefix of the operation path
+     */
+    private Resource resource(String path) {
+        for (Resource resource : this.resources())
+            if (path.equals(resource.path()) || path.startsWith(resource.path() + "/"))
+                return resource;
+        return null;
+    }
+
+    private List<Resource> resources() {
+        List<Resource> current = this.resources;
+        if (current == null) {
+            List<Resource> found = new ArrayList<>();
+            for (BaseController<?, ?> controller : this.applicationContext.getBeansOfType(BaseController.class).values()) {
+                Class<?> controllerClass = ClassUtils.getUserClass(controller);
+                Class<?>[] typeArguments = GenericTypeResolver.resolveTypeArguments(controllerClass, BaseController.class);
+                RequestMapping mapping = AnnotatedElementUtils.findMergedAnnotation(controllerClass, RequestMapping.class);
+                if (typeArguments == null || mapping == null)
+                    continue;
+                boolean sharded = this.sharding && AnnotatedElementUtils.hasAnnotation(AopUtils.getTargetClass(controller.service()), Sharded.class);
+                for (String path : mapping.path()) {
+                    String resolved = this.applicationContext.getEnvironment().resolvePlaceholders(path);
+                    resolved = resolved.startsWith("/") ? resolved : "/" + resolved;
+                    found.add(new Resource(resolved.endsWith("/") ? resolved.substring(0, resolved.length() - 1) : resolved,
+                            controller, typeArguments[0], typeArguments[1], sharded));
+                }
+            }
+            found.sort(Comparator.comparingInt((Resource resource) -> resource.path().length()).reversed());
+            this.resources = current = List.copyOf(found);
+        }
+        return current;
+    }
+
+    /**
+     * the request of an operation, on its method and path, with its own attributes (the handler mapping, the interceptors)
+     * and the headers of the batch request
+     */
+    private static class OperationRequest extends HttpServletRequestWrapper {
+        private final String method;
+        private final String servletPath;
+        private final String pathInfo;
+        private final Map<String, Object> attributes = new HashMap<>();
+
+        OperationRequest(HttpServletRequest request, String method, String path) {
+            super(request);
+            this.method = method;
+            // a dispatcher servlet mapped on a prefix receives the path of the resources as path info
+            this.servletPath = request.getPathInfo() == null ? path : request.getServletPath();
+            this.pathInfo = request.getPathInfo() == null ? null : path;
+        }
+
+        @Override
+        public String getMethod() {
+            return this.method;
+        }
+
+        @Override
+        public String getRequestURI() {
+            return this.getContextPath() + this.servletPath + (this.pathInfo == null ? "" : this.pathInfo);
+        }
+
+        @Override
+        public StringBuffer getRequestURL() {
+            StringBuffer url = new StringBuffer(super.getRequestURL());
+            return url.replace(url.length() - super.getRequestURI().length(), url.length(), this.getRequestURI());
+        }
+
+        @Override
+        public String getServletPath() {
+            return this.servletPath;
+        }
+
+        @Override
+        public String getPathInfo() {
+            return this.pathInfo;
+        }
+
+        @Override
+        public String getQueryString() {
+            return null;
+        }
+
+        @Override
+        public DispatcherType getDispatcherType() {
+            return DispatcherType.REQUEST;
+        }
+
+        @Override
+        public Object getAttribute(String name) {
+            return this.attributes.get(name);
+        }
+
+        @Override
+        public Enumeration<String> getAttributeNames() {
+            return Collections.enumeration(this.attributes.keySet());
+        }
+
+        @Override
+        public void setAttribute(String name, Object value) {
+            if (value == null)
+                this.attributes.remove(name);
+            else
+                this.attributes.put(name, value);
+        }
+
+        @Override
+        public void removeAttribute(String name) {
+            this.attributes.remove(name);
+        }
+    }
+
+    /**
+     * the response of an operation, fully buffered: its status, headers, errors and body never reach the response of the batch
+     */
+    private static class OperationResponse extends HttpServletResponseWrapper {
+        private int status = HttpStatus.OK.value();
+        private String errorMessage;
+        private final HttpHeaders headers = new HttpHeaders();
+        private final ByteArrayOutputStream content = new ByteArrayOutputStream();
+        private String contentType;
+        private String characterEncoding = StandardCharsets.ISO_8859_1.name();
+        private boolean committed;
+        private ServletOutputStream outputStream;
+        private PrintWriter writer;
+
+        OperationResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        byte[] content() {
+            if (this.writer != null)
+                this.writer.flush();
+            return this.content.toByteArray();
+        }
+
+        String errorMessage() {
+            return this.errorMessage;
+        }
+
+        @Override
+        public void setStatus(int status) {
+            this.status = status;
+        }
+
+        @Override
+        public int getStatus() {
+            return this.status;
+        }
+
+        @Override
+        public void sendError(int status, String message) {
+            this.status = status;
+            HttpStatus httpStatus = HttpStatus.resolve(status);
+            this.errorMessage = message != null || httpStatus == null ? message : httpStatus.getReasonPhrase();
+            this.committed = true;
+        }
+
+        @Override
+        public void sendError(int status) {
+            this.sendError(status, null);
+        }
+
+        @Override
+        public void sendRedirect(String location) {
+            this.status = HttpStatus.FOUND.value();
+            this.headers.setLocation(URI.create(location));
+            this.committed = true;
+        }
+
+        @Override
+        public void addCookie(Cookie cookie) {
+        }
+
+        @Override
+        public boolean containsHeader(String name) {
+            return this.headers.containsKey(name);
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return this.headers.getFirst(name);
+        }
+
+        @Override
+        public Collection<String> getHeaders(String name) {
+            return this.headers.getOrEmpty(name);
+        }
+
+        @Override
+        public Collection<String> getHeaderNames() {
+            return this.headers.keySet();
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            this.headers.set(name, value);
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            this.headers.add(name, value);
+        }
+
+        @Override
+        public void setIntHeader(String name, int value) {
+            this.headers.set(name, String.valueOf(value));
+        }
+
+        @Override
+        public void addIntHeader(String name, int value) {
+            this.headers.add(name, String.valueOf(value));
+        }
+
+        @Override
+        public void setDateHeader(String name, long date) {
+            this.headers.setDate(name, date);
+        }
+
+        @Override
+        public void addDateHeader(String name, long date) {
+            this.headers.add(name, DateTimeFormatter.RFC_1123_DATE_TIME.format(Instant.ofEpochMilli(date).atZone(ZoneOffset.UTC)));
+        }
+
+        @Override
+        public void setContentType(String contentType) {
+            this.contentType = contentType;
+            if (contentType != null) {
+                MediaType mediaType = MediaType.parseMediaType(contentType);
+                if (mediaType.getCharset() != null)
+                    this.characterEncoding = mediaType.getCharset().name();
+            }
+        }
+
+        @Override
+        public String getContentType() {
+            return this.contentType;
+        }
+
+        @Override
+        public void setCharacterEncoding(String characterEncoding) {
+            if (characterEncoding != null)
+                this.characterEncoding = characterEncoding;
+        }
+
+        @Override
+        public String getCharacterEncoding() {
+            return this.characterEncoding;
+        }
+
+        @Override
+        public void setContentLength(int length) {
+        }
+
+        @Override
+        public void setContentLengthLong(long length) {
+        }
+
+        @Override
+        public void setLocale(Locale locale) {
+        }
+
+        @Override
+        public void setTrailerFields(Supplier<Map<String, String>> supplier) {
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            if (this.outputStream == null)
+                this.outputStream = new ServletOutputStream() {
+                    @Override
+                    public boolean isReady() {
+                        return true;
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener writeListener) {
+                    }
+
+                    @Override
+                    public void write(int b) {
+                        OperationResponse.this.content.write(b);
+                    }
+
+                    @Override
+                    public void write(@NonNull byte[] b, int off, int len) {
+                        OperationResponse.this.content.write(b, off, len);
+                    }
+                };
+            return this.outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() {
+            if (this.writer == null)
+                this.writer = new PrintWriter(new OutputStreamWriter(this.content, Charset.forName(this.characterEncoding)));
+            return this.writer;
+        }
+
+        @Override
+        public void setBufferSize(int size) {
+        }
+
+        @Override
+        public void flushBuffer() {
+            this.committed = true;
+        }
+
+        @Override
+        public boolean isCommitted() {
+            return this.committed;
+        }
+
+        @Override
+        public void resetBuffer() {
+            if (this.writer != null)
+                this.writer.flush();
+            this.content.reset();
+        }
+
+        @Override
+        public void reset() {
+            this.resetBuffer();
+            this.status = HttpStatus.OK.value();
+            this.errorMessage = null;
+            this.headers.clear();
+            this.contentType = null;
+            this.committed = false;
+        }
+    }
+}
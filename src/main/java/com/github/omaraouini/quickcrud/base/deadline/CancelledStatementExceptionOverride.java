@@ -0,0 +1,26 @@
+package com.github.omaraouini.quickcrud.base.deadline;
+
+import com.zaxxer.hikari.SQLExceptionOverride;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+
+/**
+ * keeps in the hikari pool the connections whose statement was cancelled by its query timeout <br>
+ * hikari evicts the connection on any {@link SQLTimeoutException}, thrown by some drivers (eg: H2, MySQL) when the deadline
+ * of a request cancels its statement: the rollback of the transaction then fails on the closed connection and hides the timeout <br>
+ * the connection errors (sql state 08) are still evicted
+ * @author aouin
+ * Date: 23/10/2026
+ * Time: 10:30
+ */
+public class CancelledStatementExceptionOverride implements SQLExceptionOverride {
+
+    @java.lang.Override
+    public Override adjudicate(SQLException sqlException) {
+        String sqlState = sqlException.getSQLState();
+        if (sqlException instanceof SQLTimeoutException && (sqlState == null || !sqlState.startsWith("08")))
+            return Override.DO_NOT_EVICT;
+        return Override.CONTINUE_EVICT;
+    }
+}
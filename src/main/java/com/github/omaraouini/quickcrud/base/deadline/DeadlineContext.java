@@ -0,0 +1,41 @@
+package com.github.omaraouini.quickcrud.base.deadline;
+
+/**
+ * holds the deadline of the current request, it is filled by {@link DeadlineInterceptor} and read by
+ * {@link DeadlineJpaDialect} when a transaction begins
+ * @author aouin
+ * Date: 22/10/2026
+ * Time: 17:10
+ */
+public class DeadlineContext {
+    private DeadlineContext() {}
+
+    private static final ThreadLocal<Long> DEADLINE_NANOS = new ThreadLocal<>();
+
+    public static void set(Long deadlineNanos) {
+        if (deadlineNanos == null)
+            DEADLINE_NANOS.remove();
+        else
+            DEADLINE_NANOS.set(deadlineNanos);
+    }
+
+    /**
+     * @return the deadline of the current request in {@link System#nanoTime()} units, null if it has none,
+     * to propagate it to another thread
+     */
+    public static Long current() {
+        return DEADLINE_NANOS.get();
+    }
+
+    /**
+     * @return the milliseconds left before the deadline (zero or negative once it has passed), null if the request has no deadline
+     */
+    public static Long remainingMillis() {
+        Long deadlineNanos = DEADLINE_NANOS.get();
+        return deadlineNanos == null ? null : Math.floorDiv(deadlineNanos - System.nanoTime(), 1_000_000L);
+    }
+
+    public static void clear() {
+        DEADLINE_NANOS.remove();
+    }
+}
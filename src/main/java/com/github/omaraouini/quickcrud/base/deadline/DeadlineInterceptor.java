@@ -0,0 +1,93 @@
+package com.github.omaraouini.quickcrud.base.deadline;
+
+import com.github.omaraouini.quickcrud.base.controller.BaseController;
+import com.github.omaraouini.quickcrud.base.exception.DeadlineExceededException;
+import com.github.omaraouini.quickcrud.base.exception.InvalidRequestException;
+import com.github.omaraouini.quickcrud.base.utils.Translator;
+import com.github.omaraouini.quickcrud.base.utils.ValidationMsgConst;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.lang.NonNull;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * interceptor computing the deadline of the requests handled by the controllers extending {@link BaseController}
+ * and exposing it through the {@link DeadlineContext} <br>
+ * the budget is the shortest of the request header and of the {@link RequestTimeout} of the endpoint
+ * (or {@code quickcrud.deadline.default-timeout-millis}), a request arriving with a spent budget is rejected with
+ * a {@link DeadlineExceededException} (504) before reaching the service <br>
+ * the endpoints annotated with {@code @RequestTimeout(millis = RequestTimeout.NONE)} (eg: the import and the change feed streams)
+ * and the asynchronous dispatches have no deadline
+ * @author aouin
+ * Date: 22/10/2026
+ * Time: 17:15
+ */
+public class DeadlineInterceptor implements AsyncHandlerInterceptor {
+
+    private final DeadlineProperties properties;
+    private final Map<HandlerMethod, Optional<Long>> timeouts = new ConcurrentHashMap<>();
+
+    public DeadlineInterceptor(DeadlineProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod) || !BaseController.class.isAssignableFrom(handlerMethod.getBeanType())
+                || request.getDispatcherType() == DispatcherType.ASYNC)
+            return true;
+
+        long startNanos = System.nanoTime();
+        Long timeoutMillis = this.timeouts.computeIfAbsent(handlerMethod, this::resolve).orElse(null);
+        if (timeoutMillis != null && timeoutMillis == RequestTimeout.NONE)
+            return true;
+        String header = request.getHeader(this.properties.getHeader());
+        if (header != null) {
+            long requested = this.parse(header);
+            if (this.properties.getMaxTimeoutMillis() > 0)
+                requested = Math.min(requested, this.properties.getMaxTimeoutMillis());
+            timeoutMillis = timeoutMillis == null ? requested : Math.min(timeoutMillis, requested);
+        }
+        if (timeoutMillis == null)
+            return true;
+        if (timeoutMillis <= 0)
+            throw new DeadlineExceededException(Translator.toLocale(ValidationMsgConst.DEADLINE_EXCEEDED));
+
+        DeadlineContext.set(startNanos + timeoutMillis * 1_000_000L);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler) {
+        DeadlineContext.clear();
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler, Exception ex) {
+        DeadlineContext.clear();
+    }
+
+    private Optional<Long> resolve(HandlerMethod handlerMethod) {
+        RequestTimeout requestTimeout = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getMethod(), RequestTimeout.class);
+        if (requestTimeout == null)
+            requestTimeout = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), RequestTimeout.class);
+        if (requestTimeout != null)
+            return Optional.of(requestTimeout.millis());
+        return this.properties.getDefaultTimeoutMillis() > 0 ? Optional.of(this.properties.getDefaultTimeoutMillis()) : Optional.empty();
+    }
+
+    private long parse(String header) {
+        try {
+            return Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            throw new InvalidRequestException(Translator.toLocale(ValidationMsgConst.INVALID_REQUEST_TIMEOUT, new Object[]{header}));
+        }
+    }
+}
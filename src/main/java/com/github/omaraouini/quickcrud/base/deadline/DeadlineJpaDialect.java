@@ -0,0 +1,141 @@
+package com.github.omaraouini.quickcrud.base.deadline;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.datasource.ConnectionHandle;
+import org.springframework.lang.NonNull;
+import org.springframework.orm.jpa.JpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.TransactionTimedOutException;
+
+import java.sql.SQLException;
+
+/**
+ * jpa dialect applying the time left to the request (see {@link DeadlineContext}) as the transaction timeout
+ * of the hibernate session when a transaction begins, so the statements of a client that gave up are cancelled by the driver <br>
+ * hibernate sets the remaining transaction time as the query timeout of every statement it prepares:
+ * the queries, but also the loads of {@code find} and {@code multiLoad} and the writes of the flushes <br>
+ * a transaction beginning after the deadline fails with a {@link TransactionTimedOutException} (504) without reaching the database,
+ * as does a statement prepared less than a second before the deadline <br>
+ * the jdbc query timeout has a granularity of one second, the remaining time is rounded up
+ * @author aouin
+ * Date: 22/10/2026
+ * Time: 17:25
+ */
+public class DeadlineJpaDialect implements JpaDialect {
+
+    /**
+     * restores the absence of timeout, the transaction timeout of hibernate cannot be unset before the end of the transaction
+     */
+    private static final int NO_TIMEOUT = Integer.MAX_VALUE / 1000;
+
+    private final JpaDialect delegate;
+
+    public DeadlineJpaDialect(JpaDialect delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Object beginTransaction(@NonNull EntityManager entityManager, @NonNull TransactionDefinition definition)
+            throws PersistenceException, SQLException, TransactionException {
+        Long remainingMillis = remainingMillis();
+        Object transactionData = this.delegate.beginTransaction(entityManager, definition);
+        if (remainingMillis != null)
+            applyTimeout(entityManager, remainingMillis);
+        return transactionData;
+    }
+
+    /**
+     * applies the time left to the request as the transaction timeout of an entity manager whose transaction has already begun,
+     * eg: the operations of an atomic batch, each one with its own deadline
+     * @return the timeout in seconds to restore once the work of the request is done, null if the request has no deadline
+     */
+    public static Integer applyDeadline(EntityManager entityManager) {
+        Long remainingMillis = remainingMillis();
+        if (remainingMillis == null)
+            return null;
+        int previous = remainingSeconds(jdbcCoordinator(entityManager));
+        applyTimeout(entityManager, remainingMillis);
+        return previous < 0 ? NO_TIMEOUT : previous;
+    }
+
+    /**
+     * restores the timeout returned by {@link #applyDeadline(EntityManager)}
+     */
+    public static void restoreTimeout(EntityManager entityManager, Integer previous) {
+        if (previous != null)
+            jdbcCoordinator(entityManager).setTransactionTimeOut(previous);
+    }
+
+    /**
+     * the timeout of the transaction definition (eg: {@code @Transactional(timeout = 2)}) is kept when it is shorter
+     */
+    private static void applyTimeout(EntityManager entityManager, long remainingMillis) {
+        JdbcCoordinator jdbcCoordinator = jdbcCoordinator(entityManager);
+        int seconds = (int) Math.min(NO_TIMEOUT, -Math.floorDiv(-remainingMillis, 1000L));
+        int current = remainingSeconds(jdbcCoordinator);
+        if (current < 0 || seconds < current)
+            jdbcCoordinator.setTransactionTimeOut(seconds);
+    }
+
+    /**
+     * @return the seconds left to the transaction, zero when less than a second is left, -1 without timeout
+     */
+    private static int remainingSeconds(JdbcCoordinator jdbcCoordinator) {
+        try {
+            return jdbcCoordinator.determineRemainingTransactionTimeOutPeriod();
+        } catch (org.hibernate.TransactionException e) {
+            return 0;
+        }
+    }
+
+    private static JdbcCoordinator jdbcCoordinator(EntityManager entityManager) {
+        return entityManager.unwrap(SessionImplementor.class).getJdbcCoordinator();
+    }
+
+    private static Long remainingMillis() {
+        Long remainingMillis = DeadlineContext.remainingMillis();
+        if (remainingMillis != null && remainingMillis <= 0)
+            throw new TransactionTimedOutException("the deadline of the request has passed");
+        return remainingMillis;
+    }
+
+    @Override
+    public Object prepareTransaction(@NonNull EntityManager entityManager, boolean readOnly, String name) throws PersistenceException {
+        return this.delegate.prepareTransaction(entityManager, readOnly, name);
+    }
+
+    @Override
+    public void cleanupTransaction(Object transactionData) {
+        this.delegate.cleanupTransaction(transactionData);
+    }
+
+    @Override
+    public ConnectionHandle getJdbcConnection(@NonNull EntityManager entityManager, boolean readOnly) throws PersistenceException, SQLException {
+        return this.delegate.getJdbcConnection(entityManager, readOnly);
+    }
+
+    @Override
+    public void releaseJdbcConnection(@NonNull ConnectionHandle conHandle, @NonNull EntityManager entityManager) throws PersistenceException, SQLException {
+        this.delegate.releaseJdbcConnection(conHandle, entityManager);
+    }
+
+    /**
+     * hibernate refuses to prepare a statement with less than a second left, with an {@link org.hibernate.TransactionException},
+     * translated as a timeout of the statement (504)
+     */
+    @Override
+    public DataAccessException translateExceptionIfPossible(@NonNull RuntimeException ex) {
+        Long remainingMillis = DeadlineContext.remainingMillis();
+        if (remainingMillis != null && remainingMillis < 1000)
+            for (Throwable cause = ex; cause != null; cause = cause.getCause())
+                if (cause instanceof org.hibernate.TransactionException)
+                    return new QueryTimeoutException("the deadline of the request has passed", cause);
+        return this.delegate.translateExceptionIfPossible(ex);
+    }
+}
@@ -0,0 +1,40 @@
+package com.github.omaraouini.quickcrud.base.deadline;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * configuration of the request deadlines of the controllers extending
+ * {@link com.github.omaraouini.quickcrud.base.controller.BaseController} <br>
+ * example:
+ * <pre>
+ *     {@code
+ *     quickcrud.deadline.enabled=true
+ *     quickcrud.deadline.header=X-Request-Timeout
+ *     quickcrud.deadline.default-timeout-millis=5000
+ *     quickcrud.deadline.max-timeout-millis=30000
+ *     }
+ * </pre>
+ * @author aouin
+ * Date: 22/10/2026
+ * Time: 17:00
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "quickcrud.deadline")
+public class DeadlineProperties {
+    private boolean enabled = false;
+    /**
+     * request header carrying the time budget of the client, in milliseconds
+     */
+    private String header = "X-Request-Timeout";
+    /**
+     * budget of the requests without header nor {@link RequestTimeout}, zero for no deadline
+     */
+    private long defaultTimeoutMillis = 0;
+    /**
+     * upper bound of the budget asked by the header, zero for no bound
+     */
+    private long maxTimeoutMillis = 0;
+}
@@ -0,0 +1,33 @@
+package com.github.omaraouini.quickcrud.base.deadline;
+
+import java.lang.annotation.*;
+
+/**
+ * declares the time budget of the requests handled by a controller (class level) or by one of its endpoints (method level),
+ * it replaces {@code quickcrud.deadline.default-timeout-millis} and is itself replaced by a shorter request timeout header <br>
+ * {@link #NONE} exempts the endpoint from any deadline, eg: the streaming endpoints, whose duration depends on the size of the stream <br>
+ * example:
+ * <pre>
+ *     {@code
+ *     @RestController
+ *     @RequestMapping("/people")
+ *     @RequestTimeout(millis = 2000)
+ *     public class PersonController extends BaseController<PersonDto, Integer> {
+ *     }
+ *     }
+ * </pre>
+ * @author aouin
+ * Date: 22/10/2026
+ * Time: 17:05
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RequestTimeout {
+    /**
+     * no deadline: neither the default timeout nor the request timeout header apply
+     */
+    long NONE = -1;
+
+    long millis();
+}
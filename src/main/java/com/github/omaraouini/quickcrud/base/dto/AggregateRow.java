@@ -0,0 +1,27 @@
+package com.github.omaraouini.quickcrud.base.dto;
+
+import lombok.*;
+
+import java.util.Map;
+
+/**
+ * aggregate row class used to return one group of an aggregation <br>
+ * this class has the following attributes:
+ * <ul>
+ *     <li>group: the values of the group by attributes, by attribute name</li>
+ *     <li>metrics: the computed metrics, by metric name (eg: count, sum:age)</li>
+ *     </ul> <br>
+ * @author aouin
+ * Date: 20/10/2026
+ * Time: 15:30
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class AggregateRow {
+    private Map<String, Object> group;
+    private Map<String, Object> metrics;
+}
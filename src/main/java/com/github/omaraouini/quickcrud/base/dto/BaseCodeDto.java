@@ -0,0 +1,42 @@
+package com.github.omaraouini.quickcrud.base.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * base dto class for the value entities extending {@link com.github.omaraouini.quickcrud.base.entity.BaseCodeEntity} <br>
+ * this class has the following attributes:
+ * <ul>
+ *     <li>id: the unique identifier of the dto (from {@link BaseDto})</li>
+ *     <li>code: the unique code of the entity</li>
+ *     <li>description: the description of the entity</li>
+ * </ul> <br>
+ * example usage:
+ * <pre>
+ *     {@code
+ *     @SuperBuilder
+ *     @Getter
+ *     @Setter
+ *     @NoArgsConstructor
+ *     @AllArgsConstructor
+ *     public class ValueCodesDto extends BaseCodeDto {
+ *     }
+ *     }
+ * </pre>
+ *
+ * @author aouin
+ * Date: 20/10/2026
+ * Time: 10:05
+ */
+@Getter
+@Setter
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+public abstract class BaseCodeDto extends BaseDto<Integer> {
+    private String code;
+    private String description;
+}
@@ -0,0 +1,28 @@
+package com.github.omaraouini.quickcrud.base.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.*;
+
+/**
+ * operation of a batch request, executed by the controller of the resource <br>
+ * this class has the following attributes:
+ * <ul>
+ *     <li>method: GET, POST, PUT or DELETE</li>
+ *     <li>path: the path of the resource, as mapped by its controller, eg: /people for a POST, /people/12 for the others</li>
+ *     <li>body: the dto of the POST and PUT operations</li>
+ *     </ul> <br>
+ * @author aouin
+ * Date: 22/10/2026
+ * Time: 21:00
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class BatchOperation {
+    private String method;
+    private String path;
+    private JsonNode body;
+}
@@ -0,0 +1,29 @@
+package com.github.omaraouini.quickcrud.base.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * batch request class used to execute an ordered list of operations in one call <br>
+ * this class has the following attributes:
+ * <ul>
+ *     <li>atomic: true (the default) to execute all the operations in one transaction, rolled back when one of them fails,
+ *     false to execute each operation in its own transaction</li>
+ *     <li>operations: the operations, executed in order</li>
+ *     </ul> <br>
+ * @author aouin
+ * Date: 22/10/2026
+ * Time: 21:02
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class BatchRequest {
+    @Builder.Default
+    private boolean atomic = true;
+    private List<BatchOperation> operations;
+}
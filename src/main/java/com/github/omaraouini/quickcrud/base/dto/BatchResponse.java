@@ -0,0 +1,27 @@
+package com.github.omaraouini.quickcrud.base.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * batch response class used to return the results of the operations of a batch request <br>
+ * this class has the following attributes:
+ * <ul>
+ *     <li>committed: false when an atomic batch was rolled back</li>
+ *     <li>results: the result of each operation, in the order of the request</li>
+ *     </ul> <br>
+ * @author aouin
+ * Date: 22/10/2026
+ * Time: 21:06
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class BatchResponse {
+    private boolean committed;
+    private List<BatchResult> results;
+}
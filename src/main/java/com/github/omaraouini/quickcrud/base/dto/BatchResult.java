@@ -0,0 +1,26 @@
+package com.github.omaraouini.quickcrud.base.dto;
+
+import lombok.*;
+
+/**
+ * result of an operation of a batch request <br>
+ * this class has the following attributes:
+ * <ul>
+ *     <li>status: the http status the operation would have had as a single request,
+ *     424 for the operations of an atomic batch rolled back or not executed because another one failed</li>
+ *     <li>body: the response body of the operation, or its error</li>
+ *     </ul> <br>
+ * @author aouin
+ * Date: 22/10/2026
+ * Time: 21:04
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class BatchResult {
+    private int status;
+    private Object body;
+}
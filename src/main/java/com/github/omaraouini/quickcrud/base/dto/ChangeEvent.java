@@ -0,0 +1,31 @@
+package com.github.omaraouini.quickcrud.base.dto;
+
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * change event class used to notify the subscribers of the change feed <br>
+ * this class has the following attributes:
+ * <ul>
+ *     <li>revision: the envers revision number of the change, null when the entity is not audited</li>
+ *     <li>type: the type of the change</li>
+ *     <li>id: the id of the changed entity</li>
+ *     <li>content: the dto of the created or updated entity, null for the deletions</li>
+ *     </ul> <br>
+ * @author aouin
+ * Date: 21/10/2026
+ * Time: 14:10
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class ChangeEvent<D extends BaseDto<I>, I extends Serializable> {
+    private Long revision;
+    private ChangeType type;
+    private I id;
+    private D content;
+}
@@ -0,0 +1,18 @@
+package com.github.omaraouini.quickcrud.base.dto;
+
+/**
+ * type of a {@link ChangeEvent}:
+ * <ul>
+ *     <li>CREATED, UPDATED, DELETED: an entity was created, updated or deleted</li>
+ *     <li>RESET: the changes since the last event id cannot be replayed, the client has to read the entities again</li>
+ * </ul>
+ * @author aouin
+ * Date: 21/10/2026
+ * Time: 14:05
+ */
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED,
+    RESET
+}
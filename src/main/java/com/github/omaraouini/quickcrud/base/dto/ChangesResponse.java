@@ -0,0 +1,32 @@
+package com.github.omaraouini.quickcrud.base.dto;
+
+import lombok.*;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * changes response class used to return a page of the entities changed since a cursor <br>
+ * this class has the following attributes:
+ * <ul>
+ *     <li>content: the dtos created or updated, in order of modification</li>
+ *     <li>deleted: the ids of the entities soft deleted (tombstones)</li>
+ *     <li>cursor: the cursor to pass as {@code since} to read the next changes</li>
+ *     <li>hasMore: true when more changes are available right away</li>
+ *     </ul> <br>
+ * @author aouin
+ * Date: 21/10/2026
+ * Time: 16:20
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class ChangesResponse<D extends BaseDto<I>, I extends Serializable> {
+    private List<D> content;
+    private List<I> deleted;
+    private String cursor;
+    private boolean hasMore;
+}
@@ -0,0 +1,25 @@
+package com.github.omaraouini.quickcrud.base.dto;
+
+import lombok.*;
+
+/**
+ * import line error class used to report a record that could not be imported <br>
+ * this class has the following attributes:
+ * <ul>
+ *     <li>line: the line (ndjson) or record (csv, header excluded) number, starting from 1</li>
+ *     <li>message: the parse, validation or persistence error</li>
+ *     </ul> <br>
+ * @author aouin
+ * Date: 21/10/2026
+ * Time: 09:10
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class ImportLineError {
+    private long line;
+    private String message;
+}
@@ -0,0 +1,31 @@
+package com.github.omaraouini.quickcrud.base.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * import report class used to return the outcome of a bulk import <br>
+ * this class has the following attributes:
+ * <ul>
+ *     <li>imported: the number of records imported</li>
+ *     <li>failed: the number of records rejected</li>
+ *     <li>errors: the errors of the rejected records, limited to the first ones</li>
+ *     <li>errorsTruncated: true if some errors are not reported</li>
+ *     </ul> <br>
+ * @author aouin
+ * Date: 21/10/2026
+ * Time: 09:12
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class ImportReport {
+    private long imported;
+    private long failed;
+    private List<ImportLineError> errors;
+    private boolean errorsTruncated;
+}
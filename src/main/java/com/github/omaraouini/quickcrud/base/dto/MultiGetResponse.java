@@ -0,0 +1,28 @@
+package com.github.omaraouini.quickcrud.base.dto;
+
+import lombok.*;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * multi get response class used to return the dtos found for a list of ids <br>
+ * this class has the following attributes:
+ * <ul>
+ *     <li>content: the dtos found, in the same order of the requested ids</li>
+ *     <li>missing: the requested ids that were not found</li>
+ *     </ul> <br>
+ * @author aouin
+ * Date: 19/10/2026
+ * Time: 11:02
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class MultiGetResponse<D extends BaseDto<I>, I extends Serializable> {
+    private List<D> content;
+    private List<I> missing;
+}
@@ -0,0 +1,27 @@
+package com.github.omaraouini.quickcrud.base.dto;
+
+import lombok.*;
+
+/**
+ * upsert result class used to return the outcome of an upsert by code <br>
+ * this class has the following attributes:
+ * <ul>
+ *     <li>upserted: the number of codes that were inserted or updated</li>
+ *     <li>inserted: the number of codes that were inserted, null when the database does not report it</li>
+ *     <li>updated: the number of codes that already existed and were updated, null when the database does not report it</li>
+ *     </ul> <br>
+ * @author aouin
+ * Date: 20/10/2026
+ * Time: 10:08
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class UpsertResult {
+    private int upserted;
+    private Integer inserted;
+    private Integer updated;
+}
@@ -1,5 +1,6 @@
 package com.github.omaraouini.quickcrud.base.entity;
 
+import jakarta.persistence.MappedSuperclass;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -11,7 +12,7 @@ import lombok.experimental.SuperBuilder;
  * used for value entities that have a code and a description <br>
  * this class has the following attributes:
  * <ul>
- *     <li>code: the unique code of the entity</li>
+ *     <li>code: the unique code of the entity, the upserts by code of PostgreSQL, MySQL and MariaDB need a unique index on its column</li>
  *     <li>description: the description of the entity</li>
  *     <li>id: the unique identifier of the entity (from {@link BaseEntity})</li>
  *     <li>deleted: a flag to indicate if the entity is deleted or not (from {@link BaseEntity})</li>
@@ -36,6 +37,7 @@ import lombok.experimental.SuperBuilder;
  * Date: 18/01/2025
  * Time: 12:30
  */
+@MappedSuperclass
 @SuperBuilder
 @Getter
 @Setter
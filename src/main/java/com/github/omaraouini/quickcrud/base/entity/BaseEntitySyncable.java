@@ -0,0 +1,68 @@
+package com.github.omaraouini.quickcrud.base.entity;
+
+import com.github.omaraouini.quickcrud.base.repository.changes.InFlightModifications;
+import jakarta.persistence.Column;
+import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * base entity class for the entities that clients synchronize incrementally,
+ * see {@link com.github.omaraouini.quickcrud.base.service.CrudService#changes} <br>
+ * you either extend this class, {@link BaseEntityAuditable} or {@link BaseEntity} depending on your needs <br>
+ * this class is not audited, annotate the entity with {@link org.hibernate.envers.Audited} to keep its revisions
+ * (they are also used as the revisions of the change feed events) <br>
+ * this class has the following attributes:
+ * <ul>
+ *     <li>modifiedAt: the instant (microseconds resolution) of the last insert, update or soft delete of the entity</li>
+ *     <li>the attributes of {@link BaseEntity}</li>
+ * </ul>
+ * the changes are read by modifiedAt and id, declare the index on the entity table
+ * (a mapped superclass cannot declare the indexes of the tables of its entities): <br>
+ * example usage using a person entity:
+ * <pre>
+ * {@code
+ * @Entity
+ * @Table(name = "people", indexes = @Index(name = "people_modified_at_idx", columnList = "modified_at, id"))
+ * @SQLDelete(sql = "UPDATE people SET deleted = true WHERE id=?")
+ * @Where(clause = "deleted=false")
+ * @SuperBuilder
+ * @Getter
+ * @Setter
+ * @NoArgsConstructor
+ * @AllArgsConstructor
+ * public class Person extends BaseEntitySyncable<Integer> {
+ *     private String name;
+ *     private String surname;
+ *     private Integer age;
+ * }
+ * }
+ * </pre>
+ * @author aouin
+ * Date: 21/10/2026
+ * Time: 16:10
+ */
+@MappedSuperclass
+@SuperBuilder
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public abstract class BaseEntitySyncable<I extends Serializable> extends BaseEntity<I> {
+    @Column(nullable = false)
+    private Instant modifiedAt;
+
+    @PrePersist
+    @PreUpdate
+    private void touch() {
+        this.setModifiedAt(InFlightModifications.stamp());
+    }
+}
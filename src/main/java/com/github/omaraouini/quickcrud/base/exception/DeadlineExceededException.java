@@ -0,0 +1,12 @@
+package com.github.omaraouini.quickcrud.base.exception;
+
+/**
+ * @author aouin
+ * Date: 22/10/2026
+ * Time: 17:20
+ */
+public class DeadlineExceededException extends RuntimeException {
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
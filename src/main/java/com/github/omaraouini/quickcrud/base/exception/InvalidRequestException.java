@@ -0,0 +1,12 @@
+package com.github.omaraouini.quickcrud.base.exception;
+
+/**
+ * @author aouin
+ * Date: 19/10/2026
+ * Time: 11:10
+ */
+public class InvalidRequestException extends RuntimeException {
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
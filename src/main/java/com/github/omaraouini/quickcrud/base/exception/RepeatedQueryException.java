@@ -0,0 +1,12 @@
+package com.github.omaraouini.quickcrud.base.exception;
+
+/**
+ * @author aouin
+ * Date: 19/10/2026
+ * Time: 10:02
+ */
+public class RepeatedQueryException extends RuntimeException {
+    public RepeatedQueryException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,18 @@
+package com.github.omaraouini.quickcrud.base.exception;
+
+import lombok.Getter;
+
+/**
+ * @author aouin
+ * Date: 19/10/2026
+ * Time: 15:30
+ */
+@Getter
+public class ServiceOverloadedException extends RuntimeException {
+    private final int retryAfterSeconds;
+
+    public ServiceOverloadedException(String message, int retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
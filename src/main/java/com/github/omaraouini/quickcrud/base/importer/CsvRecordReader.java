@@ -0,0 +1,114 @@
+package com.github.omaraouini.quickcrud.base.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+
+/**
+ * reads the dtos of a csv stream (RFC 4180: comma separated, double quoted fields, "" to escape a quote) one record at a time <br>
+ * the first record is the header with the dto property names, empty fields are left null <br>
+ * nothing is read ahead, so the stream is consumed only as fast as the records are persisted
+ * @author aouin
+ * Date: 21/10/2026
+ * Time: 09:30
+ */
+public class CsvRecordReader<D> implements Iterator<ImportRecord<D>> {
+
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private final Class<D> dtoClass;
+    private List<String> header;
+    private List<String> next;
+    private long record;
+    private boolean eof;
+
+    public CsvRecordReader(BufferedReader reader, ObjectMapper objectMapper, Class<D> dtoClass) {
+        this.reader = reader;
+        this.objectMapper = objectMapper;
+        this.dtoClass = dtoClass;
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            if (this.header == null)
+                this.header = this.readRecord();
+            while (this.next == null && !this.eof) {
+                List<String> read = this.readRecord();
+                if (read != null && !(read.size() == 1 && read.get(0).isEmpty()))
+                    this.next = read;
+            }
+            return this.next != null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public ImportRecord<D> next() {
+        if (!this.hasNext())
+            throw new NoSuchElementException();
+        List<String> fields = this.next;
+        this.next = null;
+        this.record++;
+        if (fields.size() != this.header.size())
+            return ImportRecord.failed(this.record, "expected " + this.header.size() + " fields, found " + fields.size());
+
+        Map<String, String> values = new LinkedHashMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            if (!fields.get(i).isEmpty())
+                values.put(this.header.get(i).trim(), fields.get(i));
+        }
+        try {
+            return ImportRecord.parsed(this.record, this.objectMapper.convertValue(values, this.dtoClass));
+        } catch (IllegalArgumentException e) {
+            return ImportRecord.failed(this.record, e.getMessage());
+        }
+    }
+
+    private List<String> readRecord() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean read = false;
+        int c;
+        while ((c = this.reader.read()) != -1) {
+            read = true;
+            char ch = (char) c;
+            if (quoted) {
+                if (ch == '"') {
+                    this.reader.mark(1);
+                    int following = this.reader.read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (following != -1)
+                            this.reader.reset();
+                    }
+                } else {
+                    field.append(ch);
+                }
+            } else if (ch == '"') {
+                quoted = true;
+            } else if (ch == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (ch == '\n') {
+                break;
+            } else if (ch != '\r') {
+                field.append(ch);
+            }
+        }
+        if (c == -1) {
+            this.eof = true;
+            if (!read)
+                return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
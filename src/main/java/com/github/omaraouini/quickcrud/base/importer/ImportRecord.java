@@ -0,0 +1,18 @@
+package com.github.omaraouini.quickcrud.base.importer;
+
+/**
+ * a record read from an import stream, either the parsed dto or the parse error
+ * @author aouin
+ * Date: 21/10/2026
+ * Time: 09:15
+ */
+public record ImportRecord<D>(long line, D dto, String error) {
+
+    public static <D> ImportRecord<D> parsed(long line, D dto) {
+        return new ImportRecord<>(line, dto, null);
+    }
+
+    public static <D> ImportRecord<D> failed(long line, String error) {
+        return new ImportRecord<>(line, null, error);
+    }
+}
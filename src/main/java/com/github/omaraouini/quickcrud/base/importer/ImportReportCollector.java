@@ -0,0 +1,44 @@
+package com.github.omaraouini.quickcrud.base.importer;
+
+import com.github.omaraouini.quickcrud.base.dto.ImportLineError;
+import com.github.omaraouini.quickcrud.base.dto.ImportReport;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * collects the outcome of an import, keeping at most {@code maxErrors} line errors so the memory stays bounded
+ * @author aouin
+ * Date: 21/10/2026
+ * Time: 09:50
+ */
+public class ImportReportCollector {
+
+    private final int maxErrors;
+    private final List<ImportLineError> errors = new ArrayList<>();
+    private long imported;
+    private long failed;
+
+    public ImportReportCollector(int maxErrors) {
+        this.maxErrors = maxErrors;
+    }
+
+    public void imported(int records) {
+        this.imported += records;
+    }
+
+    public void failed(long line, String message) {
+        this.failed++;
+        if (this.errors.size() < this.maxErrors)
+            this.errors.add(ImportLineError.builder().line(line).message(message).build());
+    }
+
+    public ImportReport report() {
+        return ImportReport.builder()
+                .imported(this.imported)
+                .failed(this.failed)
+                .errors(List.copyOf(this.errors))
+                .errorsTruncated(this.failed > this.errors.size())
+                .build();
+    }
+}
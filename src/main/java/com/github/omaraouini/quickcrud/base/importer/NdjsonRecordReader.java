@@ -0,0 +1,62 @@
+package com.github.omaraouini.quickcrud.base.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * reads the dtos of a newline delimited json stream one line at a time, blank lines are skipped <br>
+ * nothing is read ahead, so the stream is consumed only as fast as the records are persisted
+ * @author aouin
+ * Date: 21/10/2026
+ * Time: 09:20
+ */
+public class NdjsonRecordReader<D> implements Iterator<ImportRecord<D>> {
+
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private final Class<D> dtoClass;
+    private long line;
+    private String next;
+
+    public NdjsonRecordReader(BufferedReader reader, ObjectMapper objectMapper, Class<D> dtoClass) {
+        this.reader = reader;
+        this.objectMapper = objectMapper;
+        this.dtoClass = dtoClass;
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            while (this.next == null) {
+                String read = this.reader.readLine();
+                if (read == null)
+                    return false;
+                this.line++;
+                if (!read.isBlank())
+                    this.next = read;
+            }
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public ImportRecord<D> next() {
+        if (!this.hasNext())
+            throw new NoSuchElementException();
+        String json = this.next;
+        this.next = null;
+        try {
+            return ImportRecord.parsed(this.line, this.objectMapper.readValue(json, this.dtoClass));
+        } catch (JsonProcessingException e) {
+            return ImportRecord.failed(this.line, e.getOriginalMessage());
+        }
+    }
+}
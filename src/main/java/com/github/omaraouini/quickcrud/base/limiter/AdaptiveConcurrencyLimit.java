@@ -0,0 +1,127 @@
+package com.github.omaraouini.quickcrud.base.limiter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * adaptive concurrency limit based on the observed latency (AIMD) <br>
+ * the requests are sampled in windows of at least {@code limit} requests, the limit is updated once per window
+ * from the smoothed average latency of the windows: it grows by one as long as this latency stays under {@code tolerance} times
+ * the lowest one observed (the latency without queueing), it is multiplied by {@code backoffRatio}
+ * as soon as the latency grows over it or a request of the window fails <br>
+ * comparing smoothed averages, a controller whose fast and slow endpoints share a budget is not throttled by the slow requests alone,
+ * only by a latency growing for the whole mix <br>
+ * the lowest latency is forgotten every {@code minRttWindow} samples, so the limit follows the changes of the database,
+ * the first window is skipped, its requests are the first to complete so the fastest ones <br>
+ * the completions only add to the counters of the current window, the request completing a window updates the limit
+ * @author aouin
+ * Date: 19/10/2026
+ * Time: 15:10
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private static final int MIN_WINDOW_SAMPLES = 25;
+    private static final double SMOOTHING = 0.2;
+
+    /**
+     * the samples of a window, the request taking the last sample updates the limit then installs the next window,
+     * the samples arriving meanwhile are dropped
+     */
+    private static final class Window {
+        private final int size;
+        private final LongAdder rttNanos = new LongAdder();
+        private final AtomicInteger samples = new AtomicInteger();
+        private volatile boolean failed;
+
+        private Window(int size) {
+            this.size = size;
+        }
+    }
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double backoffRatio;
+    private final int minRttWindow;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+    private volatile double limit;
+    private volatile Window window;
+    // only written by the request completing a window, the windows are completed one after the other
+    private boolean warmedUp;
+    private double smoothedRttNanos;
+    private double minSmoothedRttNanos = Double.MAX_VALUE;
+    private int samplesSinceReset;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, double backoffRatio, int minRttWindow) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.backoffRatio = backoffRatio;
+        this.minRttWindow = minRttWindow;
+        this.window = new Window(Math.max(MIN_WINDOW_SAMPLES, initialLimit));
+    }
+
+    /**
+     * @return true if the request can be executed, in that case {@link #release(long, boolean)} must be called once it completes
+     */
+    public boolean tryAcquire() {
+        if (this.inFlight.incrementAndGet() > (int) this.limit) {
+            this.inFlight.decrementAndGet();
+            this.rejected.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    public void release(long rttNanos, boolean success) {
+        this.inFlight.decrementAndGet();
+
+        Window current = this.window;
+        current.rttNanos.add(rttNanos);
+        if (!success)
+            current.failed = true;
+        if (current.samples.incrementAndGet() == current.size)
+            this.update(current);
+    }
+
+    private void update(Window completed) {
+        double averageRttNanos = (double) completed.rttNanos.sum() / completed.size;
+        if (!this.warmedUp) {
+            // the first window is made of the requests completing first, the fast ones, it would be a baseline too low
+            this.warmedUp = true;
+            this.window = new Window(completed.size);
+            return;
+        }
+        this.smoothedRttNanos = this.smoothedRttNanos == 0 ? averageRttNanos : this.smoothedRttNanos + SMOOTHING * (averageRttNanos - this.smoothedRttNanos);
+        this.samplesSinceReset += completed.size;
+        if (this.samplesSinceReset >= this.minRttWindow) {
+            this.samplesSinceReset = 0;
+            this.minSmoothedRttNanos = Double.MAX_VALUE;
+        }
+        this.minSmoothedRttNanos = Math.min(this.minSmoothedRttNanos, this.smoothedRttNanos);
+
+        double newLimit;
+        if (completed.failed || this.smoothedRttNanos > this.minSmoothedRttNanos * this.tolerance)
+            newLimit = this.limit * this.backoffRatio;
+        else
+            newLimit = this.limit + 1;
+        this.limit = Math.max(this.minLimit, Math.min(this.maxLimit, newLimit));
+        this.window = new Window(Math.max(MIN_WINDOW_SAMPLES, (int) this.limit));
+    }
+
+    public int getLimit() {
+        return (int) this.limit;
+    }
+
+    public int getInFlight() {
+        return this.inFlight.get();
+    }
+
+    public long getRejected() {
+        return this.rejected.get();
+    }
+}
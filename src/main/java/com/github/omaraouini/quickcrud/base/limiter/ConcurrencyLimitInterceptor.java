@@ -0,0 +1,100 @@
+package com.github.omaraouini.quickcrud.base.limiter;
+
+import com.github.omaraouini.quickcrud.base.controller.BaseController;
+import com.github.omaraouini.quickcrud.base.exception.ServiceOverloadedException;
+import com.github.omaraouini.quickcrud.base.utils.Translator;
+import com.github.omaraouini.quickcrud.base.utils.ValidationMsgConst;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.NonNull;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * interceptor applying an {@link AdaptiveConcurrencyLimit} per controller extending {@link BaseController}
+ * and per kind of operation (read or write) <br>
+ * requests over the limit are rejected immediately with a {@link ServiceOverloadedException} (503 with a Retry-After header),
+ * instead of queueing on the connection pool <br>
+ * asynchronous requests (eg: the change feed streams) release their permit once the handler returns,
+ * so the long lived streams are not counted in flight <br>
+ * when a {@link MeterRegistry} is available the limits are exposed with the following gauges, tagged by controller (its class name) and operation:
+ * <ul>
+ *     <li>quickcrud.concurrency.limit: the current limit</li>
+ *     <li>quickcrud.concurrency.in-flight: the requests being executed</li>
+ *     <li>quickcrud.concurrency.rejected: the requests rejected so far</li>
+ * </ul>
+ * @author aouin
+ * Date: 19/10/2026
+ * Time: 15:35
+ */
+public class ConcurrencyLimitInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String ACQUIRED_LIMIT = ConcurrencyLimitInterceptor.class.getName() + ".limit";
+    private static final String START_NANOS = ConcurrencyLimitInterceptor.class.getName() + ".start";
+
+    private final ConcurrencyLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AdaptiveConcurrencyLimit> limits = new ConcurrentHashMap<>();
+
+    public ConcurrencyLimitInterceptor(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod) || !BaseController.class.isAssignableFrom(handlerMethod.getBeanType())
+                || request.getDispatcherType() == DispatcherType.ASYNC)
+            return true;
+
+        boolean read = HttpMethod.GET.matches(request.getMethod());
+        // the fully qualified name, two controllers with the same simple name must not share their limit
+        String controller = handlerMethod.getBeanType().getName();
+        AdaptiveConcurrencyLimit limit = this.limits.computeIfAbsent(controller + (read ? ":read" : ":write"),
+                key -> this.newLimit(controller, read));
+
+        if (!limit.tryAcquire())
+            throw new ServiceOverloadedException(Translator.toLocale(ValidationMsgConst.SERVICE_OVERLOADED), this.properties.getRetryAfterSeconds());
+
+        request.setAttribute(ACQUIRED_LIMIT, limit);
+        request.setAttribute(START_NANOS, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler) {
+        this.release(request, true);
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler, Exception ex) {
+        this.release(request, ex == null && response.getStatus() < 500);
+    }
+
+    private void release(HttpServletRequest request, boolean success) {
+        if (request.getAttribute(ACQUIRED_LIMIT) instanceof AdaptiveConcurrencyLimit limit) {
+            request.removeAttribute(ACQUIRED_LIMIT);
+            long rttNanos = System.nanoTime() - (long) request.getAttribute(START_NANOS);
+            limit.release(rttNanos, success);
+        }
+    }
+
+    private AdaptiveConcurrencyLimit newLimit(String controller, boolean read) {
+        AdaptiveConcurrencyLimit limit = (read ? this.properties.getRead() : this.properties.getWrite()).newLimit();
+        if (this.meterRegistry != null) {
+            Tags tags = Tags.of("controller", controller, "operation", read ? "read" : "write");
+            Gauge.builder("quickcrud.concurrency.limit", limit, AdaptiveConcurrencyLimit::getLimit).tags(tags).register(this.meterRegistry);
+            Gauge.builder("quickcrud.concurrency.in-flight", limit, AdaptiveConcurrencyLimit::getInFlight).tags(tags).register(this.meterRegistry);
+            Gauge.builder("quickcrud.concurrency.rejected", limit, AdaptiveConcurrencyLimit::getRejected).tags(tags).register(this.meterRegistry);
+        }
+        return limit;
+    }
+}
@@ -0,0 +1,45 @@
+package com.github.omaraouini.quickcrud.base.limiter;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * configuration of the adaptive concurrency limits applied to the controllers extending
+ * {@link com.github.omaraouini.quickcrud.base.controller.BaseController}, reads (GET) and writes have separate budgets <br>
+ * example:
+ * <pre>
+ *     {@code
+ *     quickcrud.concurrency-limit.enabled=true
+ *     quickcrud.concurrency-limit.read.initial-limit=40
+ *     quickcrud.concurrency-limit.write.max-limit=20
+ *     }
+ * </pre>
+ * @author aouin
+ * Date: 19/10/2026
+ * Time: 15:25
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "quickcrud.concurrency-limit")
+public class ConcurrencyLimitProperties {
+    private boolean enabled = false;
+    private int retryAfterSeconds = 1;
+    private Budget read = new Budget();
+    private Budget write = new Budget();
+
+    @Getter
+    @Setter
+    public static class Budget {
+        private int initialLimit = 20;
+        private int minLimit = 1;
+        private int maxLimit = 200;
+        private double tolerance = 2.0;
+        private double backoffRatio = 0.9;
+        private int minRttWindow = 1000;
+
+        public AdaptiveConcurrencyLimit newLimit() {
+            return new AdaptiveConcurrencyLimit(this.initialLimit, this.minLimit, this.maxLimit, this.tolerance, this.backoffRatio, this.minRttWindow);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.github.omaraouini.quickcrud.base.querypolicy;
+
+/**
+ * what to do at startup when a sortable or filterable attribute of a {@link QueryPolicy} is not the leading column
+ * of an index of the table
+ * @author aouin
+ * Date: 22/10/2026
+ * Time: 18:45
+ */
+public enum IndexCheck {
+    OFF,
+    WARN,
+    FAIL
+}
@@ -0,0 +1,35 @@
+package com.github.omaraouini.quickcrud.base.querypolicy;
+
+import java.lang.annotation.*;
+
+/**
+ * declares the attributes a controller extending {@link com.github.omaraouini.quickcrud.base.controller.BaseController}
+ * can be sorted, filtered and grouped (by the aggregates) on, the other sorts, filters and groups are rejected with a 400 <br>
+ * the id is always sortable, filterable and groupable, the attributes are checked at startup against the indexes of the table,
+ * see {@code quickcrud.query.index-check} <br>
+ * example:
+ * <pre>
+ *     {@code
+ *     @RestController
+ *     @RequestMapping("/people")
+ *     @QueryPolicy(sortable = {"surname", "createdDate"}, filterable = {"surname"}, groupable = {"surname"}, maxPageSize = 200)
+ *     public class PersonController extends BaseController<PersonDto, Integer> {
+ *     }
+ *     }
+ * </pre>
+ * @author aouin
+ * Date: 22/10/2026
+ * Time: 18:40
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface QueryPolicy {
+    String[] sortable() default {};
+    String[] filterable() default {};
+    String[] groupable() default {};
+    /**
+     * largest page returned by the controller, zero for {@code quickcrud.query.max-page-size}
+     */
+    int maxPageSize() default 0;
+}
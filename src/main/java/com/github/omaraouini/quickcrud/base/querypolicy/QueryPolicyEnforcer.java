@@ -0,0 +1,86 @@
+package com.github.omaraouini.quickcrud.base.querypolicy;
+
+import com.github.omaraouini.quickcrud.base.exception.InvalidRequestException;
+import com.github.omaraouini.quickcrud.base.utils.Translator;
+import com.github.omaraouini.quickcrud.base.utils.ValidationMsgConst;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.beans.PropertyDescriptor;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * applies the {@link QueryPolicy} of a controller to the requests: the sorts, the filters of the example
+ * and the groups of the aggregates must be allowed, and the page size is capped to the max page size (the unpaged requests get the first page) <br>
+ * the controllers without {@link QueryPolicy} only get the page size cap
+ * @author aouin
+ * Date: 22/10/2026
+ * Time: 18:50
+ */
+public class QueryPolicyEnforcer {
+
+    private static final String ID = "id";
+
+    private final Set<String> sortable;
+    private final Set<String> filterable;
+    private final Set<String> groupable;
+    private final int maxPageSize;
+
+    /**
+     * @param policy the policy of the controller, null if it has none
+     */
+    public QueryPolicyEnforcer(QueryPolicy policy, int defaultMaxPageSize) {
+        this.sortable = policy == null ? null : allowed(policy.sortable());
+        this.filterable = policy == null ? null : allowed(policy.filterable());
+        this.groupable = policy == null ? null : allowed(policy.groupable());
+        this.maxPageSize = policy != null && policy.maxPageSize() > 0 ? policy.maxPageSize() : defaultMaxPageSize;
+    }
+
+    public Pageable pageable(Pageable pageable) {
+        if (this.sortable != null)
+            for (Sort.Order order : pageable.getSort())
+                if (!this.sortable.contains(order.getProperty()))
+                    throw new InvalidRequestException(Translator.toLocale(ValidationMsgConst.SORT_NOT_ALLOWED, new Object[]{order.getProperty()}));
+
+        if (this.maxPageSize <= 0)
+            return pageable;
+        if (pageable.isUnpaged())
+            return PageRequest.of(0, this.maxPageSize, pageable.getSort());
+        return pageable.getPageSize() > this.maxPageSize ? PageRequest.of(pageable.getPageNumber(), this.maxPageSize, pageable.getSort()) : pageable;
+    }
+
+    /**
+     * checks the non null attributes of the example, the primitive attributes are always set and are not considered as filters
+     */
+    public void filters(Object example) {
+        if (this.filterable == null || example == null)
+            return;
+        BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(example);
+        for (PropertyDescriptor property : wrapper.getPropertyDescriptors()) {
+            if (property.getReadMethod() == null || property.getPropertyType().isPrimitive() || "class".equals(property.getName()))
+                continue;
+            if (wrapper.getPropertyValue(property.getName()) != null && !this.filterable.contains(property.getName()))
+                throw new InvalidRequestException(Translator.toLocale(ValidationMsgConst.FILTER_NOT_ALLOWED, new Object[]{property.getName()}));
+        }
+    }
+
+    public void groupBy(List<String> groupBy) {
+        if (this.groupable == null)
+            return;
+        for (String attribute : groupBy)
+            if (!this.groupable.contains(attribute))
+                throw new InvalidRequestException(Translator.toLocale(ValidationMsgConst.GROUP_BY_NOT_ALLOWED, new Object[]{attribute}));
+    }
+
+    private static Set<String> allowed(String[] attributes) {
+        Set<String> allowed = new HashSet<>(Arrays.asList(attributes));
+        allowed.add(ID);
+        return allowed;
+    }
+}
@@ -0,0 +1,152 @@
+package com.github.omaraouini.quickcrud.base.querypolicy;
+
+import com.github.omaraouini.quickcrud.base.service.BaseCrudService;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.lang.NonNull;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Stream;
+
+/**
+ * builds the {@link QueryPolicyEnforcer} of the controllers and checks at startup that their sortable, filterable and groupable attributes
+ * are backed by an index: the column must be the primary key or the leading column of an index of the table of the entity <br>
+ * the policies are collected while the controllers are created and checked once the application is ready, with a single connection
+ * (the controllers created afterwards are checked right away) <br>
+ * an attribute missing from the entity always fails the startup, a missing index is logged or fails the startup
+ * depending on {@code quickcrud.query.index-check} (off, warn or fail)
+ * @author aouin
+ * Date: 22/10/2026
+ * Time: 18:55
+ */
+@Slf4j
+public class QueryPolicyVerifier implements ApplicationListener<ApplicationReadyEvent> {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final DataSource dataSource;
+    private final IndexCheck indexCheck;
+    private final int defaultMaxPageSize;
+    private final Queue<Pending> pending = new ConcurrentLinkedQueue<>();
+    private volatile boolean ready;
+
+    public QueryPolicyVerifier(EntityManagerFactory entityManagerFactory, DataSource dataSource, IndexCheck indexCheck, int defaultMaxPageSize) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.dataSource = dataSource;
+        this.indexCheck = indexCheck;
+        this.defaultMaxPageSize = defaultMaxPageSize;
+    }
+
+    /**
+     * @param service the service of the controller, to find the entity of the policy
+     */
+    public QueryPolicyEnforcer enforcer(Class<?> controllerClass, Object service) {
+        QueryPolicy policy = AnnotatedElementUtils.findMergedAnnotation(controllerClass, QueryPolicy.class);
+        if (policy != null && this.indexCheck != IndexCheck.OFF) {
+            Class<?>[] typeArguments = GenericTypeResolver.resolveTypeArguments(AopProxyUtils.ultimateTargetClass(service), BaseCrudService.class);
+            if (typeArguments != null) {
+                this.pending.add(new Pending(controllerClass, typeArguments[0], policy));
+                if (this.ready)
+                    this.verifyPending();
+            }
+        }
+        return new QueryPolicyEnforcer(policy, this.defaultMaxPageSize);
+    }
+
+    @Override
+    public void onApplicationEvent(@NonNull ApplicationReadyEvent event) {
+        this.ready = true;
+        this.verifyPending();
+    }
+
+    private void verifyPending() {
+        List<Pending> policies = new ArrayList<>();
+        for (Pending policy = this.pending.poll(); policy != null; policy = this.pending.poll())
+            policies.add(policy);
+        if (policies.isEmpty())
+            return;
+
+        try (Connection connection = this.dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (Pending policy : policies)
+                this.verify(metaData, policy.controllerClass(), policy.entityClass(), policy.policy());
+        } catch (SQLException e) {
+            log.warn("cannot read the indexes of the tables, the query policies of {} are not verified",
+                    policies.stream().map(policy -> policy.controllerClass().getName()).toList(), e);
+        }
+    }
+
+    private void verify(DatabaseMetaData metaData, Class<?> controllerClass, Class<?> entityClass, QueryPolicy policy) throws SQLException {
+        AbstractEntityPersister persister = (AbstractEntityPersister) this.entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel().getEntityDescriptor(entityClass);
+        Set<String> attributes = new LinkedHashSet<>();
+        Stream.of(policy.sortable(), policy.filterable(), policy.groupable()).flatMap(Arrays::stream).forEach(attributes::add);
+
+        for (String attribute : attributes) {
+            String[] columns;
+            String table;
+            try {
+                columns = persister.getPropertyColumnNames(attribute);
+                table = persister.getPropertyTableName(attribute);
+            } catch (RuntimeException e) {
+                throw new IllegalStateException("the query policy of " + controllerClass.getName() + " declares " + attribute
+                        + ", which is not a column of " + entityClass.getName(), e);
+            }
+            if (columns.length == 0 || table == null || this.indexed(metaData, table, columns[0]))
+                continue;
+            String message = "the query policy of " + controllerClass.getName() + " allows " + attribute
+                    + ", but " + table + "." + columns[0] + " is not the leading column of an index";
+            if (this.indexCheck == IndexCheck.FAIL)
+                throw new IllegalStateException(message);
+            log.warn(message);
+        }
+    }
+
+    private boolean indexed(DatabaseMetaData metaData, String table, String column) throws SQLException {
+        String tableName = this.identifier(metaData, table);
+        try (ResultSet primaryKeys = metaData.getPrimaryKeys(null, null, tableName)) {
+            while (primaryKeys.next())
+                if (primaryKeys.getShort("KEY_SEQ") == 1 && column.equalsIgnoreCase(primaryKeys.getString("COLUMN_NAME")))
+                    return true;
+        }
+        try (ResultSet indexes = metaData.getIndexInfo(null, null, tableName, false, true)) {
+            while (indexes.next())
+                if (indexes.getShort("ORDINAL_POSITION") == 1 && column.equalsIgnoreCase(indexes.getString("COLUMN_NAME")))
+                    return true;
+        }
+        return false;
+    }
+
+    /**
+     * the metadata lookups use the case of the identifiers stored by the database, the schema prefix is ignored
+     */
+    private String identifier(DatabaseMetaData metaData, String table) throws SQLException {
+        String name = table.substring(table.lastIndexOf('.') + 1);
+        if (metaData.storesUpperCaseIdentifiers())
+            return name.toUpperCase(Locale.ROOT);
+        if (metaData.storesLowerCaseIdentifiers())
+            return name.toLowerCase(Locale.ROOT);
+        return name;
+    }
+
+    private record Pending(Class<?> controllerClass, Class<?> entityClass, QueryPolicy policy) {
+    }
+}
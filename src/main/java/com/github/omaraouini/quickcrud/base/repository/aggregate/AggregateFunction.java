@@ -0,0 +1,16 @@
+package com.github.omaraouini.quickcrud.base.repository.aggregate;
+
+/**
+ * these values are used to define the aggregate functions that can be computed by an {@link AggregateQuery},
+ * all of them but COUNT need a numeric attribute (MIN and MAX also accept comparable ones)
+ * @author aouin
+ * Date: 20/10/2026
+ * Time: 15:35
+ */
+public enum AggregateFunction {
+    COUNT,
+    SUM,
+    AVG,
+    MIN,
+    MAX
+}
@@ -0,0 +1,145 @@
+package com.github.omaraouini.quickcrud.base.repository.aggregate;
+
+import com.github.omaraouini.quickcrud.base.dto.AggregateRow;
+import com.github.omaraouini.quickcrud.base.exception.InvalidRequestException;
+import com.github.omaraouini.quickcrud.base.utils.Translator;
+import com.github.omaraouini.quickcrud.base.utils.ValidationMsgConst;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.*;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.SingularAttribute;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.*;
+
+/**
+ * builds and executes a group by query on an entity, the grouping and the aggregate functions are executed by the database
+ * so only the grouped rows are returned <br>
+ * the attributes are validated against the jpa metamodel: group by attributes must be basic singular attributes,
+ * SUM and AVG need numeric attributes, MIN and MAX comparable ones <br>
+ * metrics are expressed as {@code count} or {@code function:attribute} (eg: {@code sum:age}) <br>
+ * the query fails with an {@link InvalidRequestException} when it returns more than {@code maxBuckets} groups <br>
+ * example usage:
+ * <pre>
+ *     {@code
+ *     GenericSearchSpecification<Person> specification = new GenericSearchSpecification<>();
+ *     specification.add(new SearchFieldCriteria("surname", "doe", SearchOperation.EQUAL));
+ *     List<AggregateRow> rows = new AggregateQuery<>(entityManager, Person.class, 100)
+ *     .execute(specification, List.of("age"), List.of("count", "avg:salary"));
+ *     }
+ * </pre>
+ * @author aouin
+ * Date: 20/10/2026
+ * Time: 15:40
+ */
+public class AggregateQuery<E> {
+
+    private final EntityManager entityManager;
+    private final Class<E> entityClass;
+    private final int maxBuckets;
+
+    public AggregateQuery(EntityManager entityManager, Class<E> entityClass, int maxBuckets) {
+        this.entityManager = entityManager;
+        this.entityClass = entityClass;
+        this.maxBuckets = maxBuckets;
+    }
+
+    public List<AggregateRow> execute(Specification<E> specification, List<String> groupBy, List<String> metrics) {
+        EntityType<E> entityType = this.entityManager.getMetamodel().entity(this.entityClass);
+        CriteriaBuilder criteriaBuilder = this.entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<E> root = query.from(this.entityClass);
+
+        List<Selection<?>> selections = new ArrayList<>();
+        List<Expression<?>> groups = new ArrayList<>();
+        for (String attribute : groupBy) {
+            Path<Object> path = root.get(this.basicAttribute(entityType, attribute).getName());
+            groups.add(path);
+            selections.add(path);
+        }
+        for (String metric : metrics)
+            selections.add(this.metric(entityType, root, criteriaBuilder, metric));
+        if (metrics.isEmpty())
+            throw this.invalid("metric");
+
+        query.multiselect(selections);
+        if (specification != null) {
+            Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+            if (predicate != null)
+                query.where(predicate);
+        }
+        query.groupBy(groups);
+        query.orderBy(groups.stream().map(criteriaBuilder::asc).toList());
+
+        List<Tuple> tuples = this.entityManager.createQuery(query)
+                .setMaxResults(this.maxBuckets + 1)
+                .getResultList();
+        if (tuples.size() > this.maxBuckets)
+            throw new InvalidRequestException(Translator.toLocale(ValidationMsgConst.TOO_MANY_BUCKETS, new Object[]{this.maxBuckets}));
+
+        return tuples.stream().map(tuple -> {
+            Map<String, Object> group = new LinkedHashMap<>();
+            for (int i = 0; i < groupBy.size(); i++)
+                group.put(groupBy.get(i), tuple.get(i));
+            Map<String, Object> values = new LinkedHashMap<>();
+            for (int i = 0; i < metrics.size(); i++)
+                values.put(metrics.get(i), tuple.get(groupBy.size() + i));
+            return AggregateRow.builder().group(group).metrics(values).build();
+        }).toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Expression<?> metric(EntityType<E> entityType, Root<E> root, CriteriaBuilder criteriaBuilder, String metric) {
+        String[] parts = metric.split(":", 2);
+        AggregateFunction function;
+        try {
+            function = AggregateFunction.valueOf(parts[0].trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw this.invalid(metric);
+        }
+        if (function == AggregateFunction.COUNT)
+            return parts.length == 1 ? criteriaBuilder.count(root) : criteriaBuilder.count(root.get(this.basicAttribute(entityType, parts[1]).getName()));
+        if (parts.length == 1)
+            throw this.invalid(metric);
+
+        SingularAttribute<? super E, ?> attribute = this.basicAttribute(entityType, parts[1]);
+        Class<?> type = attribute.getJavaType();
+        boolean numeric = Number.class.isAssignableFrom(type) || (type.isPrimitive() && type != boolean.class && type != char.class);
+        return switch (function) {
+            case SUM -> {
+                if (!numeric) throw this.invalid(metric);
+                yield criteriaBuilder.sum(root.<Number>get(attribute.getName()));
+            }
+            case AVG -> {
+                if (!numeric) throw this.invalid(metric);
+                yield criteriaBuilder.avg(root.<Number>get(attribute.getName()));
+            }
+            case MIN -> {
+                if (!numeric && !Comparable.class.isAssignableFrom(type)) throw this.invalid(metric);
+                yield criteriaBuilder.least(root.<Comparable<Object>>get(attribute.getName()));
+            }
+            case MAX -> {
+                if (!numeric && !Comparable.class.isAssignableFrom(type)) throw this.invalid(metric);
+                yield criteriaBuilder.greatest(root.<Comparable<Object>>get(attribute.getName()));
+            }
+            default -> throw this.invalid(metric);
+        };
+    }
+
+    private SingularAttribute<? super E, ?> basicAttribute(EntityType<E> entityType, String name) {
+        try {
+            SingularAttribute<? super E, ?> attribute = entityType.getSingularAttribute(name.trim());
+            if (attribute.getPersistentAttributeType() != Attribute.PersistentAttributeType.BASIC)
+                throw this.invalid(name);
+            return attribute;
+        } catch (IllegalArgumentException e) {
+            throw this.invalid(name);
+        }
+    }
+
+    private InvalidRequestException invalid(String value) {
+        return new InvalidRequestException(Translator.toLocale(ValidationMsgConst.INVALID_AGGREGATE, new Object[]{value}));
+    }
+}
@@ -0,0 +1,32 @@
+package com.github.omaraouini.quickcrud.base.repository.cache;
+
+import java.lang.annotation.*;
+
+/**
+ * configures the second level cache region of a {@code @Cacheable} entity when {@code quickcrud.jpa.cache.enabled} is true,
+ * the values of the {@code quickcrud.jpa.cache.regions} properties win over the annotation ones <br>
+ * a negative value uses the default of {@link SecondLevelCacheProperties}, 0 means unbounded (or no expiration) <br>
+ * example usage:
+ * <pre>
+ *     {@code
+ *     @Entity
+ *     @Cacheable
+ *     @CacheRegion(maxEntries = 10000, ttlSeconds = 300)
+ *     @Table(name = "people")
+ *     public class Person extends BaseEntityAuditable<Integer> {
+ *     ...
+ *     }
+ *     }
+ * </pre>
+ * @author aouin
+ * Date: 22/10/2026
+ * Time: 14:05
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CacheRegion {
+    long maxEntries() default -1;
+
+    long ttlSeconds() default -1;
+}
@@ -0,0 +1,89 @@
+package com.github.omaraouini.quickcrud.base.repository.cache;
+
+import com.github.omaraouini.quickcrud.base.sharding.ShardContext;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+
+/**
+ * executes the list and page queries of an entity with the query cache hint, the count query of the pages included <br>
+ * the cached results are the ids of the entities, use it only for entities stored in the second level cache,
+ * otherwise each cached result is loaded with one select per entity <br>
+ * on a sharded service the results are cached in a region per shard ({@value #SHARD_REGION_PREFIX} followed by the shard),
+ * the same query returns different rows on each shard
+ * @author aouin
+ * Date: 22/10/2026
+ * Time: 14:50
+ */
+public class CacheableQuery<E> {
+
+    public static final String SHARD_REGION_PREFIX = "default-query-results-region-shard-";
+
+    private final EntityManager entityManager;
+    private final Class<E> entityClass;
+
+    public CacheableQuery(EntityManager entityManager, Class<E> entityClass) {
+        this.entityManager = entityManager;
+        this.entityClass = entityClass;
+    }
+
+    public List<E> list(Specification<E> specification) {
+        return this.query(specification, Sort.unsorted()).getResultList();
+    }
+
+    public Page<E> page(Specification<E> specification, Pageable pageable) {
+        TypedQuery<E> query = this.query(specification, pageable.getSort());
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable, () -> this.count(specification));
+    }
+
+    private TypedQuery<E> query(Specification<E> specification, Sort sort) {
+        CriteriaBuilder criteriaBuilder = this.entityManager.getCriteriaBuilder();
+        CriteriaQuery<E> query = criteriaBuilder.createQuery(this.entityClass);
+        Root<E> root = query.from(this.entityClass);
+        this.where(specification, root, query, criteriaBuilder);
+        if (sort.isSorted())
+            query.orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+        return this.cacheable(this.entityManager.createQuery(query.select(root)));
+    }
+
+    private long count(Specification<E> specification) {
+        CriteriaBuilder criteriaBuilder = this.entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        Root<E> root = query.from(this.entityClass);
+        this.where(specification, root, query, criteriaBuilder);
+        return this.cacheable(this.entityManager.createQuery(query.select(criteriaBuilder.count(root))))
+                .getSingleResult();
+    }
+
+    private <T> TypedQuery<T> cacheable(TypedQuery<T> query) {
+        query.setHint(HibernateHints.HINT_CACHEABLE, true);
+        Integer shard = ShardContext.current();
+        if (shard != null)
+            query.setHint(HibernateHints.HINT_CACHE_REGION, SHARD_REGION_PREFIX + shard);
+        return query;
+    }
+
+    private void where(Specification<E> specification, Root<E> root, CriteriaQuery<?> query, CriteriaBuilder criteriaBuilder) {
+        if (specification == null)
+            return;
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null)
+            query.where(predicate);
+    }
+}
@@ -0,0 +1,71 @@
+package com.github.omaraouini.quickcrud.base.repository.cache;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.util.ClassUtils;
+
+import javax.cache.Cache;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * jcache region factory creating the caches of the regions with the size and expiration configured by
+ * {@link SecondLevelCacheProperties} and {@link CacheRegion} <br>
+ * the update timestamps region is never bounded nor expired, otherwise the query cache could return stale results
+ * @author aouin
+ * Date: 22/10/2026
+ * Time: 14:20
+ */
+@Slf4j
+public class QuickCrudRegionFactory extends JCacheRegionFactory {
+
+    private final SecondLevelCacheProperties properties;
+
+    public QuickCrudRegionFactory(SecondLevelCacheProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    protected Cache<Object, Object> createCache(String regionName) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>()
+                .setStatisticsEnabled(this.properties.isStatistics());
+        if (!regionName.endsWith(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME)) {
+            long maxEntries = this.regionSetting(regionName, true);
+            long ttlSeconds = this.regionSetting(regionName, false);
+            if (maxEntries > 0)
+                configuration.setMaximumSize(OptionalLong.of(maxEntries));
+            if (ttlSeconds > 0)
+                configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)));
+            log.debug("second level cache region {}: max entries {}, ttl {}s", regionName, maxEntries, ttlSeconds);
+        }
+        return this.getCacheManager().createCache(regionName, configuration);
+    }
+
+    private long regionSetting(String regionName, boolean maxEntries) {
+        SecondLevelCacheProperties.Region region = this.properties.getRegions().get(regionName);
+        if (region == null)
+            region = this.properties.getRegions().get(ClassUtils.getShortName(regionName));
+        long value = region == null ? -1 : (maxEntries ? region.getMaxEntries() : region.getTtlSeconds());
+        if (value < 0) {
+            CacheRegion annotation = this.annotation(regionName);
+            value = annotation == null ? -1 : (maxEntries ? annotation.maxEntries() : annotation.ttlSeconds());
+        }
+        if (value < 0)
+            value = maxEntries ? this.properties.getDefaultMaxEntries() : this.properties.getDefaultTtlSeconds();
+        return value;
+    }
+
+    /**
+     * @return the annotation of the entity when the region has the default name (the entity class name)
+     */
+    private CacheRegion annotation(String regionName) {
+        try {
+            return AnnotatedElementUtils.findMergedAnnotation(ClassUtils.forName(regionName, null), CacheRegion.class);
+        } catch (ClassNotFoundException | LinkageError e) {
+            return null;
+        }
+    }
+}
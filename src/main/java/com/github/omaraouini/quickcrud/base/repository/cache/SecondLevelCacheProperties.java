@@ -0,0 +1,44 @@
+package com.github.omaraouini.quickcrud.base.repository.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * configuration of the hibernate second level cache, stored in a local (per instance) caffeine jcache <br>
+ * the regions are configured by their name (the entity class name by default) or by the simple name of the entity, eg:
+ * <pre>
+ *     {@code
+ *     quickcrud.jpa.cache.enabled=true
+ *     quickcrud.jpa.cache.query-cache=true
+ *     quickcrud.jpa.cache.default-max-entries=10000
+ *     quickcrud.jpa.cache.default-ttl-seconds=600
+ *     quickcrud.jpa.cache.regions.Person.max-entries=50000
+ *     quickcrud.jpa.cache.regions.Person.ttl-seconds=60
+ *     }
+ * </pre>
+ * @author aouin
+ * Date: 22/10/2026
+ * Time: 14:10
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "quickcrud.jpa.cache")
+public class SecondLevelCacheProperties {
+    private boolean enabled = false;
+    private boolean queryCache = false;
+    private boolean statistics = true;
+    private long defaultMaxEntries = 10000;
+    private long defaultTtlSeconds = 600;
+    private Map<String, Region> regions = new HashMap<>();
+
+    @Getter
+    @Setter
+    public static class Region {
+        private long maxEntries = -1;
+        private long ttlSeconds = -1;
+    }
+}
@@ -0,0 +1,50 @@
+package com.github.omaraouini.quickcrud.base.repository.changes;
+
+import com.github.omaraouini.quickcrud.base.exception.InvalidRequestException;
+import com.github.omaraouini.quickcrud.base.utils.Translator;
+import com.github.omaraouini.quickcrud.base.utils.ValidationMsgConst;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.support.DefaultConversionService;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * position in the changes of an entity: the modification instant and the id of the last row read <br>
+ * it is exchanged with the clients as an opaque url safe string
+ * @author aouin
+ * Date: 21/10/2026
+ * Time: 16:25
+ */
+public record ChangeCursor(Instant modifiedAt, Object id) {
+
+    public String encode() {
+        String raw = this.modifiedAt.getEpochSecond() + "." + this.modifiedAt.getNano() + ":" + this.id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param cursor the encoded cursor
+     * @param idClass the type of the entity id
+     * @throws InvalidRequestException when the cursor is not valid
+     */
+    public static ChangeCursor decode(String cursor, Class<?> idClass) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int idSeparator = raw.indexOf(':');
+            int nanosSeparator = raw.indexOf('.');
+            if (idSeparator < 0 || nanosSeparator < 0 || nanosSeparator > idSeparator)
+                throw new IllegalArgumentException(cursor);
+            Instant modifiedAt = Instant.ofEpochSecond(Long.parseLong(raw.substring(0, nanosSeparator)),
+                    Long.parseLong(raw.substring(nanosSeparator + 1, idSeparator)));
+            Object id = DefaultConversionService.getSharedInstance().convert(raw.substring(idSeparator + 1), idClass);
+            if (id == null)
+                throw new IllegalArgumentException(cursor);
+            return new ChangeCursor(modifiedAt, id);
+        } catch (IllegalArgumentException | DateTimeException | ConversionException e) {
+            throw new InvalidRequestException(Translator.toLocale(ValidationMsgConst.INVALID_CURSOR));
+        }
+    }
+}
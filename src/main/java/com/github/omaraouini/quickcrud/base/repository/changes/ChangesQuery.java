@@ -0,0 +1,82 @@
+package com.github.omaraouini.quickcrud.base.repository.changes;
+
+import com.github.omaraouini.quickcrud.base.entity.BaseEntitySyncable;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.query.NativeQuery;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * reads the ids of the rows of a {@link BaseEntitySyncable} modified after a cursor, soft deleted rows included,
+ * ordered by modification instant and id (keyset paging on the modified_at, id index) <br>
+ * the query is native because the {@code @Where} clause of the soft deleted entities would hide the tombstones <br>
+ * only the rows modified before {@code until} are read, so the rows of the transactions still in flight
+ * (with an older modification instant than the committed ones) are not skipped by the next cursor,
+ * see {@link InFlightModifications}
+ * @author aouin
+ * Date: 21/10/2026
+ * Time: 16:35
+ */
+public class ChangesQuery<E extends BaseEntitySyncable<?>> {
+
+    public record ChangedRow(Object id, Instant modifiedAt, boolean deleted) {
+        public ChangeCursor cursor() {
+            return new ChangeCursor(this.modifiedAt, this.id);
+        }
+    }
+
+    private final EntityManager entityManager;
+    private final Class<E> entityClass;
+
+    public ChangesQuery(EntityManager entityManager, Class<E> entityClass) {
+        this.entityManager = entityManager;
+        this.entityClass = entityClass;
+    }
+
+    public Class<?> idClass() {
+        return this.persister().getIdentifierType().getReturnedClass();
+    }
+
+    /**
+     * @param since the cursor of the last row read, null to read from the beginning
+     * @param until the upper bound (excluded) of the modification instant
+     * @param limit the maximum number of rows
+     */
+    public List<ChangedRow> execute(ChangeCursor since, Instant until, int limit) {
+        AbstractEntityPersister persister = this.persister();
+        String table = persister.getPropertyTableName("modifiedAt");
+        String id = persister.getIdentifierColumnNames()[0];
+        String modifiedAt = persister.getPropertyColumnNames("modifiedAt")[0];
+        String deleted = persister.getPropertyColumnNames("deleted")[0];
+
+        String sql = "select " + id + " as change_id, " + modifiedAt + " as change_modified_at, " + deleted + " as change_deleted"
+                + " from " + table
+                + " where " + modifiedAt + " < :until"
+                + (since == null ? "" : " and (" + modifiedAt + " > :since or (" + modifiedAt + " = :since and " + id + " > :sinceId))")
+                + " order by " + modifiedAt + ", " + id;
+
+        NativeQuery<Object[]> query = this.entityManager.unwrap(Session.class).createNativeQuery(sql, Object[].class)
+                .addScalar("change_id", persister.getIdentifierType().getReturnedClass())
+                .addScalar("change_modified_at", Instant.class)
+                .addScalar("change_deleted", Boolean.class)
+                .setParameter("until", until);
+        if (since != null)
+            query.setParameter("since", since.modifiedAt())
+                    .setParameter("sinceId", since.id());
+
+        return query.setMaxResults(limit)
+                .getResultList()
+                .stream()
+                .map(row -> new ChangedRow(row[0], (Instant) row[1], Boolean.TRUE.equals(row[2])))
+                .toList();
+    }
+
+    private AbstractEntityPersister persister() {
+        SessionFactoryImplementor sessionFactory = this.entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class);
+        return (AbstractEntityPersister) sessionFactory.getMappingMetamodel().getEntityDescriptor(this.entityClass);
+    }
+}
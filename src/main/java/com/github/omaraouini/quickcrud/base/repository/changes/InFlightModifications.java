@@ -0,0 +1,65 @@
+package com.github.omaraouini.quickcrud.base.repository.changes;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * tracks the first modification instant of the transactions of this instance that modified a
+ * {@link com.github.omaraouini.quickcrud.base.entity.BaseEntitySyncable} and are not completed yet <br>
+ * the modification instants are taken before the commit, so a transaction can commit a row older than the rows
+ * already committed by the others: the changes are read only up to the oldest of these instants,
+ * the cursor never moves past a row that is not visible yet <br>
+ * the transaction is registered before its instant is taken, so a reader that does not see it yet
+ * reads up to an instant older than the one it will write
+ * @author aouin
+ * Date: 23/10/2026
+ * Time: 09:50
+ */
+public class InFlightModifications {
+    private InFlightModifications() {}
+
+    private static final Object KEY = new Object();
+    private static final Set<AtomicReference<Instant>> IN_FLIGHT = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @return the modification instant to write, truncated to the microseconds stored by the databases
+     */
+    public static Instant stamp() {
+        if (TransactionSynchronizationManager.isSynchronizationActive() && !TransactionSynchronizationManager.hasResource(KEY)) {
+            AtomicReference<Instant> first = new AtomicReference<>();
+            IN_FLIGHT.add(first);
+            TransactionSynchronizationManager.bindResource(KEY, first);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(KEY);
+                    IN_FLIGHT.remove(first);
+                }
+            });
+            Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+            first.set(now);
+            return now;
+        }
+        return Instant.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    /**
+     * @param until the upper bound of the read
+     * @return the upper bound held behind the oldest transaction in flight
+     */
+    public static Instant holdBack(Instant until) {
+        Instant bound = until;
+        for (AtomicReference<Instant> first : IN_FLIGHT) {
+            Instant instant = first.get();
+            if (instant != null && instant.isBefore(bound))
+                bound = instant;
+        }
+        return bound;
+    }
+}
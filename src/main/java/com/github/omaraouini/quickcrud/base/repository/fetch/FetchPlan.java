@@ -0,0 +1,47 @@
+package com.github.omaraouini.quickcrud.base.repository.fetch;
+
+import com.github.omaraouini.quickcrud.base.service.CrudOperation;
+
+import java.lang.annotation.*;
+
+/**
+ * declares the associations that need to be fetched together with the root entity
+ * for one or more {@link CrudOperation}, so that mapping the result to dtos does not trigger
+ * a lazy load per row (N+1 selects) <br>
+ * the attribute paths are applied to the repository calls as a jpa fetch graph, nested paths are supported using the dot notation <br>
+ * it can be placed on a service extending {@link com.github.omaraouini.quickcrud.base.service.BaseCrudService},
+ * or on a controller extending {@link com.github.omaraouini.quickcrud.base.controller.BaseController} (class or handler method),
+ * the controller declaration wins over the service one for the current request <br>
+ * example usage:
+ * <pre>
+ *     {@code
+ *     @Service
+ *     @FetchPlan(operations = {CrudOperation.GET_PAGE, CrudOperation.GET_PAGE_BY_EXAMPLE}, attributePaths = {"address", "orders.items"})
+ *     public class PersonService extends BaseCrudService<Person, PersonDto, Integer, PersonRepository> {
+ *     ...
+ *     }
+ *     }
+ * </pre>
+ * collections loaded lazily can also be fetched in batches using the hibernate {@code @BatchSize} annotation on the association
+ * or the {@code spring.jpa.properties.hibernate.default_batch_fetch_size} property, this is preferred for collections
+ * on paged operations since fetching a collection together with a page forces hibernate to paginate in memory
+ * @author aouin
+ * Date: 19/10/2026
+ * Time: 09:20
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Repeatable(FetchPlans.class)
+@Documented
+public @interface FetchPlan {
+
+    CrudOperation[] operations() default {
+            CrudOperation.GET_BY_ID,
+            CrudOperation.GET_ALL,
+            CrudOperation.GET_BY_EXAMPLE,
+            CrudOperation.GET_PAGE,
+            CrudOperation.GET_PAGE_BY_EXAMPLE
+    };
+
+    String[] attributePaths();
+}
@@ -0,0 +1,46 @@
+package com.github.omaraouini.quickcrud.base.repository.fetch;
+
+import com.github.omaraouini.quickcrud.base.service.CrudOperation;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * holds the fetch plans declared on the controller handling the current request,
+ * it is filled by {@link FetchPlanInterceptor} and read by
+ * {@link com.github.omaraouini.quickcrud.base.service.BaseCrudService} when calling the repository
+ * @author aouin
+ * Date: 19/10/2026
+ * Time: 09:40
+ */
+public class FetchPlanContext {
+    private FetchPlanContext() {}
+
+    private static final ThreadLocal<Map<CrudOperation, List<String>>> CURRENT = new ThreadLocal<>();
+
+    public static void set(Map<CrudOperation, List<String>> fetchPlans) {
+        if (fetchPlans == null || fetchPlans.isEmpty())
+            CURRENT.remove();
+        else
+            CURRENT.set(fetchPlans);
+    }
+
+    /**
+     * @return the attribute paths declared for the operation in the current request, null if none was declared
+     */
+    public static List<String> get(CrudOperation operation) {
+        Map<CrudOperation, List<String>> fetchPlans = CURRENT.get();
+        return fetchPlans == null ? null : fetchPlans.get(operation);
+    }
+
+    /**
+     * @return the fetch plans of the current request, null if none was declared, to propagate them to another thread
+     */
+    public static Map<CrudOperation, List<String>> current() {
+        return CURRENT.get();
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+}
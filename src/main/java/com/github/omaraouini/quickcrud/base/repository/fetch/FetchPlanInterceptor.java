@@ -0,0 +1,44 @@
+package com.github.omaraouini.quickcrud.base.repository.fetch;
+
+import com.github.omaraouini.quickcrud.base.service.CrudOperation;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * interceptor that exposes the {@link FetchPlan} declarations of the handling controller
+ * (class level, overridden by method level) through the {@link FetchPlanContext} for the duration of the request
+ * @author aouin
+ * Date: 19/10/2026
+ * Time: 09:45
+ */
+public class FetchPlanInterceptor implements HandlerInterceptor {
+
+    private final Map<HandlerMethod, Map<CrudOperation, List<String>>> cache = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod)
+            FetchPlanContext.set(this.cache.computeIfAbsent(handlerMethod, this::resolve));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler, Exception ex) {
+        FetchPlanContext.clear();
+    }
+
+    private Map<CrudOperation, List<String>> resolve(HandlerMethod handlerMethod) {
+        Map<CrudOperation, List<String>> fetchPlans = new EnumMap<>(CrudOperation.class);
+        fetchPlans.putAll(FetchPlanResolver.resolve(handlerMethod.getBeanType()));
+        fetchPlans.putAll(FetchPlanResolver.resolve(handlerMethod.getMethod()));
+        return fetchPlans;
+    }
+}
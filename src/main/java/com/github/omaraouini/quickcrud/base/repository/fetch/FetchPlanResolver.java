@@ -0,0 +1,31 @@
+package com.github.omaraouini.quickcrud.base.repository.fetch;
+
+import com.github.omaraouini.quickcrud.base.service.CrudOperation;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+
+import java.lang.reflect.AnnotatedElement;
+import java.util.*;
+
+/**
+ * resolves the {@link FetchPlan} declarations of an annotated element (class or method)
+ * into the attribute paths to fetch for each {@link CrudOperation} <br>
+ * multiple declarations targeting the same operation are merged together
+ * @author aouin
+ * Date: 19/10/2026
+ * Time: 09:34
+ */
+public class FetchPlanResolver {
+    private FetchPlanResolver() {}
+
+    public static Map<CrudOperation, List<String>> resolve(AnnotatedElement element) {
+        Map<CrudOperation, Set<String>> paths = new EnumMap<>(CrudOperation.class);
+        for (FetchPlan fetchPlan : AnnotatedElementUtils.findMergedRepeatableAnnotations(element, FetchPlan.class)) {
+            for (CrudOperation operation : fetchPlan.operations()) {
+                paths.computeIfAbsent(operation, op -> new LinkedHashSet<>()).addAll(Arrays.asList(fetchPlan.attributePaths()));
+            }
+        }
+        Map<CrudOperation, List<String>> resolved = new EnumMap<>(CrudOperation.class);
+        paths.forEach((operation, attributePaths) -> resolved.put(operation, List.copyOf(attributePaths)));
+        return Collections.unmodifiableMap(resolved);
+    }
+}
@@ -0,0 +1,16 @@
+package com.github.omaraouini.quickcrud.base.repository.fetch;
+
+import java.lang.annotation.*;
+
+/**
+ * container annotation for repeated {@link FetchPlan} declarations
+ * @author aouin
+ * Date: 19/10/2026
+ * Time: 09:21
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface FetchPlans {
+    FetchPlan[] value();
+}
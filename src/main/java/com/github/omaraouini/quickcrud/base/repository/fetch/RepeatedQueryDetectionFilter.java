@@ -0,0 +1,30 @@
+package com.github.omaraouini.quickcrud.base.repository.fetch;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * filter that opens a {@link RepeatedQueryDetector} scope for each http request,
+ * so repeated selects are counted per request
+ * @author aouin
+ * Date: 19/10/2026
+ * Time: 10:20
+ */
+public class RepeatedQueryDetectionFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain) throws ServletException, IOException {
+        RepeatedQueryDetector.openScope();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RepeatedQueryDetector.closeScope();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.github.omaraouini.quickcrud.base.repository.fetch;
+
+import com.github.omaraouini.quickcrud.base.exception.RepeatedQueryException;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * hibernate statement inspector used to detect N+1 selects, meant to be enabled in tests <br>
+ * while a scope is open on the current thread (eg: one http request, see {@link RepeatedQueryDetectionFilter})
+ * every SELECT is normalized to its shape (literals and parameter lists collapsed) and counted,
+ * when the same shape is executed more than {@code maxRepeats} times a {@link RepeatedQueryException} is thrown,
+ * failing the request that triggered it <br>
+ * statements executed outside a scope are ignored <br>
+ * it is enabled with the following properties:
+ * <pre>
+ *     {@code
+ *     quickcrud.jpa.repeated-query-detection.enabled=true
+ *     quickcrud.jpa.repeated-query-detection.max-repeats=2
+ *     }
+ * </pre>
+ * @author aouin
+ * Date: 19/10/2026
+ * Time: 10:05
+ */
+public class RepeatedQueryDetector implements StatementInspector {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(\\.\\d+)?\\b");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACES = Pattern.compile("\\s+");
+
+    private static final ThreadLocal<Map<String, Integer>> SCOPE = new ThreadLocal<>();
+
+    private final int maxRepeats;
+
+    public RepeatedQueryDetector(int maxRepeats) {
+        this.maxRepeats = maxRepeats;
+    }
+
+    public static void openScope() {
+        SCOPE.set(new HashMap<>());
+    }
+
+    public static void closeScope() {
+        SCOPE.remove();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Map<String, Integer> executed = SCOPE.get();
+        if (executed == null)
+            return sql;
+
+        String shape = shapeOf(sql);
+        if (!shape.startsWith("select"))
+            return sql;
+
+        int count = executed.merge(shape, 1, Integer::sum);
+        if (count > this.maxRepeats) {
+            closeScope();
+            throw new RepeatedQueryException("same select executed " + count + " times in a single scope (max " + this.maxRepeats + "), possible N+1: " + shape);
+        }
+        return sql;
+    }
+
+    static String shapeOf(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = PARAMETER_LIST.matcher(shape).replaceAll("(?)");
+        return WHITESPACES.matcher(shape).replaceAll(" ").trim().toLowerCase(Locale.ROOT);
+    }
+}
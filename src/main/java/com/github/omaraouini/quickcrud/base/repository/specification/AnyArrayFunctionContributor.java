@@ -0,0 +1,30 @@
+package com.github.omaraouini.quickcrud.base.repository.specification;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.CockroachDialect;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * registers the {@value #ANY} function, {@code column = any(array parameter)}, on the dialects binding arrays
+ * (postgresql, cockroachdb and h2), it is used by {@link InPredicates} for the large IN criteria <br>
+ * on the other dialects the function is not registered and the large lists are split in padded parameter lists
+ * @author aouin
+ * Date: 22/10/2026
+ * Time: 18:20
+ */
+public class AnyArrayFunctionContributor implements FunctionContributor {
+
+    public static final String ANY = "quickcrud_any";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        Dialect dialect = functionContributions.getDialect();
+        if (dialect instanceof PostgreSQLDialect || dialect instanceof CockroachDialect || dialect instanceof H2Dialect)
+            functionContributions.getFunctionRegistry().registerPattern(ANY, "(?1 = any(?2))",
+                    functionContributions.getTypeConfiguration().getBasicTypeRegistry().resolve(StandardBasicTypes.BOOLEAN));
+    }
+}
@@ -0,0 +1,151 @@
+package com.github.omaraouini.quickcrud.base.repository.specification;
+
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.SingularAttribute;
+import org.springframework.beans.BeanUtils;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.EscapeCharacter;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * example probe compiled once per dto class: the getters of the dto are resolved to method handles
+ * and the predicates are built directly from the non null values of the dto, without mapping it to an entity
+ * nor walking the probe reflectively at each request <br>
+ * it gives the same predicates as the query by example of the mapped entity:
+ * <ul>
+ *     <li>each non null property of the dto is compared to the entity attribute of the same name,
+ *     the strings with the CONTAINING ignore case matcher when {@code containing} is true, exactly otherwise</li>
+ *     <li>the entity attributes not present in the dto keep the value of a new entity (eg: {@code deleted = false})</li>
+ * </ul>
+ * a dto with a property that is not a basic attribute of the same name and type in the entity cannot be compiled,
+ * see {@link #isApplicable()}, its probes have to go through the mapper and the query by example
+ * @author aouin
+ * Date: 22/10/2026
+ * Time: 19:30
+ */
+public final class CompiledProbe<E> {
+
+    private static final MethodType GETTER = MethodType.methodType(Object.class, Object.class);
+
+    private record Accessor(String name, MethodHandle getter) {}
+
+    private final List<Accessor> accessors;
+    private final Map<String, Object> defaults;
+    private final boolean applicable;
+
+    private CompiledProbe(List<Accessor> accessors, Map<String, Object> defaults, boolean applicable) {
+        this.accessors = accessors;
+        this.defaults = defaults;
+        this.applicable = applicable;
+    }
+
+    public static <E> CompiledProbe<E> compile(Class<?> dtoClass, EntityType<E> entityType) {
+        Map<String, SingularAttribute<? super E, ?>> attributes = new LinkedHashMap<>();
+        entityType.getSingularAttributes().forEach(attribute -> attributes.put(attribute.getName(), attribute));
+
+        List<Accessor> accessors = new ArrayList<>();
+        try {
+            for (PropertyDescriptor property : BeanUtils.getPropertyDescriptors(dtoClass)) {
+                Method readMethod = property.getReadMethod();
+                if (readMethod == null || "class".equals(property.getName()))
+                    continue;
+                SingularAttribute<? super E, ?> attribute = attributes.remove(property.getName());
+                if (attribute == null || attribute.getPersistentAttributeType() != Attribute.PersistentAttributeType.BASIC
+                        // the attributes of the generic mapped superclasses have the erased type, eg: the id
+                        || !ClassUtils.isAssignable(attribute.getJavaType(), property.getPropertyType()))
+                    return notApplicable();
+                MethodHandle getter = MethodHandles.publicLookup().unreflect(readMethod).asType(GETTER);
+                accessors.add(new Accessor(property.getName(), getter));
+            }
+
+            // the mapper starts from a new entity, its non null attributes are part of the query by example
+            E newEntity = BeanUtils.instantiateClass(entityType.getJavaType());
+            Map<String, Object> defaults = new LinkedHashMap<>();
+            for (SingularAttribute<? super E, ?> attribute : attributes.values()) {
+                Object value = read(attribute.getJavaMember(), newEntity);
+                if (value == null)
+                    continue;
+                if (attribute.getPersistentAttributeType() != Attribute.PersistentAttributeType.BASIC)
+                    return notApplicable();
+                defaults.put(attribute.getName(), value);
+            }
+            return new CompiledProbe<>(List.copyOf(accessors), defaults, true);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return notApplicable();
+        }
+    }
+
+    /**
+     * @return false when the dto cannot be compiled against the entity
+     */
+    public boolean isApplicable() {
+        return this.applicable;
+    }
+
+    /**
+     * @param containing true for the CONTAINING ignore case matching of the strings, false for the exact matching
+     */
+    public Specification<E> toSpecification(Object probe, boolean containing) {
+        Map<String, Object> values = new LinkedHashMap<>(this.defaults);
+        for (Accessor accessor : this.accessors) {
+            Object value = this.get(accessor, probe);
+            if (value != null)
+                values.put(accessor.name(), value);
+        }
+        return (root, query, criteriaBuilder) -> {
+            List<Predicate> predicates = new ArrayList<>(values.size());
+            values.forEach((name, value) -> {
+                if (containing && value instanceof String string) {
+                    Expression<String> expression = criteriaBuilder.lower(root.get(name));
+                    predicates.add(criteriaBuilder.like(expression, "%" + EscapeCharacter.DEFAULT.escape(string.toLowerCase()) + "%",
+                            EscapeCharacter.DEFAULT.getEscapeCharacter()));
+                } else {
+                    predicates.add(criteriaBuilder.equal(root.get(name), value));
+                }
+            });
+            return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    private Object get(Accessor accessor, Object probe) {
+        try {
+            return accessor.getter().invokeExact(probe);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("cannot read " + accessor.name() + " of the example", e);
+        }
+    }
+
+    private static Object read(Member member, Object entity) throws ReflectiveOperationException {
+        if (member instanceof Field field) {
+            ReflectionUtils.makeAccessible(field);
+            return field.get(entity);
+        }
+        if (member instanceof Method method) {
+            ReflectionUtils.makeAccessible(method);
+            return method.invoke(entity);
+        }
+        return null;
+    }
+
+    private static <E> CompiledProbe<E> notApplicable() {
+        return new CompiledProbe<>(List.of(), Map.of(), false);
+    }
+}
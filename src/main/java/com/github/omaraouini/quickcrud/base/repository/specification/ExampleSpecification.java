@@ -31,6 +31,11 @@ import java.util.List;
  */
 public class ExampleSpecification<E> implements Specification<E> {
 
+    private static final ExampleMatcher EXAMPLE_MATCHER = ExampleMatcher.matching()
+            .withStringMatcher(ExampleMatcher.StringMatcher.CONTAINING)
+            .withIgnoreNullValues()
+            .withIgnoreCase();
+
     private final Example<E> exampleProbe;
 
     public ExampleSpecification(Example<E> exampleProbe) {
@@ -42,11 +47,7 @@ public class ExampleSpecification<E> implements Specification<E> {
 
         final List<Predicate> predicates = new ArrayList<>();
 
-        final ExampleMatcher exampleMatcher = ExampleMatcher.matching()
-                .withStringMatcher(ExampleMatcher.StringMatcher.CONTAINING)
-                .withIgnoreNullValues()
-                .withIgnoreCase();
-        Example<E> fixedExample =Example.of(this.exampleProbe.getProbe(), exampleMatcher);
+        Example<E> fixedExample =Example.of(this.exampleProbe.getProbe(), EXAMPLE_MATCHER);
 
         predicates.add(QueryByExamplePredicateBuilder.getPredicate(root,criteriaBuilder,fixedExample));
 
@@ -8,6 +8,8 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.lang.NonNull;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -19,6 +21,7 @@ import java.util.List;
  *     <li>add: a method that adds a search criteria to the list</li>
  *     <li>toPredicate: a method that converts the search criteria to a predicate</li>
  * </ul>
+ * the IN and NOT_IN criteria accept typed collections of any size, see {@link InPredicates} for the statements they produce
  *
  *  example usage with a repository with a default method:
  *  <pre>
@@ -65,11 +68,17 @@ public class GenericSearchSpecification<E> implements Specification<E> {
                 case MATCH, LIKE -> predicates.add(criteriaBuilder.like(criteriaBuilder.lower(root.get(criteria.getKey())), "%" + criteria.getValue().toLowerCase() + "%"));
                 case MATCH_END -> predicates.add(criteriaBuilder.like(criteriaBuilder.lower(root.get(criteria.getKey())), criteria.getValue().toLowerCase() + "%"));
                 case MATCH_START -> predicates.add(criteriaBuilder.like(criteriaBuilder.lower(root.get(criteria.getKey())), "%" + criteria.getValue().toLowerCase()));
-                case IN -> predicates.add(criteriaBuilder.in(root.get(criteria.getKey())).value(criteria.getValue()));
-                case NOT_IN -> predicates.add(criteriaBuilder.not(root.get(criteria.getKey()).in(criteria.getValue())));
+                case IN -> predicates.add(InPredicates.in(criteriaBuilder, root.get(criteria.getKey()), this.values(criteria)));
+                case NOT_IN -> predicates.add(criteriaBuilder.not(InPredicates.in(criteriaBuilder, root.get(criteria.getKey()), this.values(criteria))));
             }
         }
         return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
     }
+
+    private Collection<?> values(SearchFieldCriteria criteria) {
+        if (criteria.getValues() != null)
+            return criteria.getValues();
+        return criteria.getValue() == null ? List.of() : Arrays.stream(criteria.getValue().split(",")).map(String::trim).toList();
+    }
 }
 
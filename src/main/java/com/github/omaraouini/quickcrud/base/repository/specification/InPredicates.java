@@ -0,0 +1,97 @@
+package com.github.omaraouini.quickcrud.base.repository.specification;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.hibernate.query.sqm.NodeBuilder;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * builds the IN predicates of the search criteria, with the values converted to the type of the attribute <br>
+ * the statements must keep a small number of distinct shapes to be reused from the plan and statement caches:
+ * <ul>
+ *     <li>up to {@link #MAX_BUCKET} values, the parameter list is padded to the next power of two by repeating the last value,
+ *     so 5 or 7 values produce the same statement as 8</li>
+ *     <li>over {@link #MAX_BUCKET} values, the values are bound as a single array parameter ({@code column = any(?)})
+ *     (split in arrays of {@link #MAX_ARRAY} values) when the dialect supports it (see {@link AnyArrayFunctionContributor}), otherwise they are split
+ *     in padded lists of {@link #MAX_BUCKET} values joined with OR</li>
+ * </ul>
+ * @author aouin
+ * Date: 22/10/2026
+ * Time: 18:10
+ */
+public class InPredicates {
+    private InPredicates() {}
+
+    /**
+     * largest padded parameter list, below the 1000 elements limit of some databases
+     */
+    public static final int MAX_BUCKET = 512;
+
+    /**
+     * largest array parameter, the arrays of h2 are limited to 65536 elements
+     */
+    public static final int MAX_ARRAY = 65536;
+
+    private static final ConversionService CONVERSION_SERVICE = DefaultConversionService.getSharedInstance();
+
+    /**
+     * @return a predicate true when the attribute is one of the values, the null values are ignored
+     */
+    public static Predicate in(CriteriaBuilder criteriaBuilder, Path<?> path, Collection<?> values) {
+        Class<?> type = ClassUtils.resolvePrimitiveIfNecessary(path.getJavaType());
+        Set<Object> typedValues = new LinkedHashSet<>();
+        values.stream()
+                .filter(Objects::nonNull)
+                .map(value -> CONVERSION_SERVICE.convert(value, type))
+                .forEach(typedValues::add);
+
+        if (typedValues.isEmpty())
+            return criteriaBuilder.disjunction();
+        List<Object> list = new ArrayList<>(typedValues);
+        boolean anyArray = list.size() > MAX_BUCKET && supportsAnyArray(criteriaBuilder);
+        int chunkSize = anyArray ? MAX_ARRAY : MAX_BUCKET;
+        List<Predicate> chunks = new ArrayList<>();
+        for (int from = 0; from < list.size(); from += chunkSize) {
+            List<Object> chunk = list.subList(from, Math.min(list.size(), from + chunkSize));
+            chunks.add(anyArray ? anyArray(criteriaBuilder, path, type, chunk) : padded(criteriaBuilder, path, chunk));
+        }
+        return chunks.size() == 1 ? chunks.get(0) : criteriaBuilder.or(chunks.toArray(new Predicate[0]));
+    }
+
+    private static Predicate anyArray(CriteriaBuilder criteriaBuilder, Path<?> path, Class<?> type, List<Object> values) {
+        Object array = Array.newInstance(type, values.size());
+        for (int index = 0; index < values.size(); index++)
+            Array.set(array, index, values.get(index));
+        // bound as a parameter whatever the criteria value handling mode, a literal would be inlined in the statement
+        Expression<Boolean> any = criteriaBuilder.function(AnyArrayFunctionContributor.ANY, Boolean.class, path, ((NodeBuilder) criteriaBuilder).value(array));
+        return criteriaBuilder.isTrue(any);
+    }
+
+    private static Predicate padded(CriteriaBuilder criteriaBuilder, Path<?> path, List<Object> values) {
+        int bucket = Integer.highestOneBit(values.size());
+        if (bucket < values.size())
+            bucket <<= 1;
+        CriteriaBuilder.In<Object> in = criteriaBuilder.in(path);
+        values.forEach(in::value);
+        for (int padding = values.size(); padding < bucket; padding++)
+            in.value(values.get(values.size() - 1));
+        return in;
+    }
+
+    private static boolean supportsAnyArray(CriteriaBuilder criteriaBuilder) {
+        return criteriaBuilder instanceof NodeBuilder nodeBuilder
+                && nodeBuilder.getQueryEngine().getSqmFunctionRegistry().findFunctionDescriptor(AnyArrayFunctionContributor.ANY) != null;
+    }
+}
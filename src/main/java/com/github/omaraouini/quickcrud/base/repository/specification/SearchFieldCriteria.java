@@ -1,22 +1,26 @@
 package com.github.omaraouini.quickcrud.base.repository.specification;
 
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.util.Collection;
+
 /**
  * this class is used to define the search criteria that will be used in the search specification
  * it has the following attributes:
  * <ul>
  *     <li>key: the field name that will be used in the search</li>
  *     <li>value: the value that will be used in the search</li>
+ *     <li>values: the values of the IN and NOT_IN operations, converted to the type of the field,
+ *     when missing the value is split on the commas</li>
  *     <li>searchOperation: the operation that will be used in the search</li>
  * </ul>
  * example usage:
  * <pre>
  *     {@code
  *     SearchFieldCriteria searchFieldCriteria = new SearchFieldCriteria("name", "john", SearchOperation.EQUAL);
+ *     SearchFieldCriteria inCriteria = SearchFieldCriteria.withValues("age", List.of(18, 21, 30), SearchOperation.IN);
  *     }
  * </pre>
  *
@@ -26,10 +30,26 @@ import lombok.Setter;
  */
 @Getter
 @Setter
-@AllArgsConstructor
 @NoArgsConstructor
 public class SearchFieldCriteria {
     private String key;
     private String value;
+    private Collection<?> values;
     private SearchOperation searchOperation;
+
+    public SearchFieldCriteria(String key, String value, SearchOperation searchOperation) {
+        this.key = key;
+        this.value = value;
+        this.searchOperation = searchOperation;
+    }
+
+    /**
+     * a criteria of the IN and NOT_IN operations with typed values,
+     * a factory rather than a constructor so {@code new SearchFieldCriteria(key, null, operation)} stays unambiguous
+     */
+    public static SearchFieldCriteria withValues(String key, Collection<?> values, SearchOperation searchOperation) {
+        SearchFieldCriteria criteria = new SearchFieldCriteria(key, null, searchOperation);
+        criteria.setValues(values);
+        return criteria;
+    }
 }
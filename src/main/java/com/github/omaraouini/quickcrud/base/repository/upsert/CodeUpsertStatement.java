@@ -0,0 +1,67 @@
+package com.github.omaraouini.quickcrud.base.repository.upsert;
+
+import org.hibernate.dialect.*;
+
+import java.util.Collections;
+import java.util.StringJoiner;
+
+/**
+ * builds the single statement upsert by code of a batch of rows, in the syntax of the configured dialect:
+ * <ul>
+ *     <li>PostgreSQL: INSERT ... ON CONFLICT (code) DO UPDATE ... RETURNING the action of each row</li>
+ *     <li>MySQL / MariaDB: INSERT ... ON DUPLICATE KEY UPDATE</li>
+ *     <li>H2: MERGE INTO ... KEY (code)</li>
+ *     <li>Oracle: MERGE INTO ... USING (SELECT ... FROM DUAL UNION ALL ...)</li>
+ *     <li>SQL Server: standard MERGE ... OUTPUT the action of each row</li>
+ *     <li>others: standard MERGE INTO ... USING (VALUES ...)</li>
+ * </ul>
+ * each row binds three parameters: code, description and deleted (always false, so soft deleted codes are restored) <br>
+ * PostgreSQL, MySQL and MariaDB need a unique index on the code column, it is the conflict target of the statement
+ * @author aouin
+ * Date: 20/10/2026
+ * Time: 10:20
+ */
+public class CodeUpsertStatement {
+    private CodeUpsertStatement() {}
+
+    public static final String INSERTED = "INSERT";
+
+    public static String of(Dialect dialect, String table, String code, String description, String deleted, int rows) {
+        String columns = code + ", " + description + ", " + deleted;
+        String values = String.join(", ", Collections.nCopies(rows, "(?, ?, ?)"));
+
+        if (dialect instanceof PostgreSQLDialect)
+            return "insert into " + table + " (" + columns + ") values " + values
+                    + " on conflict (" + code + ") do update set " + description + " = excluded." + description + ", " + deleted + " = excluded." + deleted
+                    // xmax is zero on the rows inserted by the statement
+                    + " returning case when xmax = 0 then '" + INSERTED + "' else 'UPDATE' end";
+
+        if (dialect instanceof MySQLDialect)
+            return "insert into " + table + " (" + columns + ") values " + values
+                    + " on duplicate key update " + description + " = values(" + description + "), " + deleted + " = values(" + deleted + ")";
+
+        if (dialect instanceof H2Dialect)
+            return "merge into " + table + " (" + columns + ") key (" + code + ") values " + values;
+
+        String source = dialect instanceof OracleDialect
+                ? "(" + String.join(" union all ", Collections.nCopies(rows,
+                        "select ? " + code + ", ? " + description + ", ? " + deleted + " from dual")) + ") s"
+                : "(values " + values + ") s (" + columns + ")";
+        StringJoiner merge = new StringJoiner(" ");
+        merge.add("merge into " + table + " t using " + source);
+        merge.add("on (t." + code + " = s." + code + ")");
+        merge.add("when matched then update set " + description + " = s." + description + ", " + deleted + " = s." + deleted);
+        merge.add("when not matched then insert (" + columns + ") values (s." + code + ", s." + description + ", s." + deleted + ")");
+        if (dialect instanceof SQLServerDialect)
+            return merge.add("output $action;").toString();
+        return merge.toString();
+    }
+
+    /**
+     * @return true when the statement of the dialect returns a row per upserted code, with {@link #INSERTED} or UPDATE in its first column,
+     * otherwise only the count of the upserted rows is known
+     */
+    public static boolean returnsActions(Dialect dialect) {
+        return dialect instanceof PostgreSQLDialect || dialect instanceof SQLServerDialect;
+    }
+}
@@ -0,0 +1,74 @@
+package com.github.omaraouini.quickcrud.base.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * authentication manager caching the successful username and password authentications for a short time,
+ * so the password encoder (eg: bcrypt, several milliseconds of cpu by design) runs once per client and ttl
+ * instead of on every http basic request <br>
+ * the cache key is an hmac of the credentials with a random key generated at startup, the passwords are never stored <br>
+ * the failed authentications are not cached, a disabled user or a changed password is taken into account after the ttl
+ * @author aouin
+ * Date: 22/10/2026
+ * Time: 16:10
+ */
+public class CachingAuthenticationManager implements AuthenticationManager {
+
+    private static final String HMAC = "HmacSHA256";
+
+    private final AuthenticationManager delegate;
+    private final Cache<String, Authentication> verified;
+    private final SecretKeySpec key;
+
+    public CachingAuthenticationManager(AuthenticationManager delegate, Duration ttl, long maxEntries) {
+        this.delegate = delegate;
+        this.verified = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxEntries)
+                .build();
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.key = new SecretKeySpec(secret, HMAC);
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        if (!(authentication instanceof UsernamePasswordAuthenticationToken) || !(authentication.getCredentials() instanceof String password))
+            return this.delegate.authenticate(authentication);
+
+        String cacheKey = this.digest(authentication.getName(), password);
+        Authentication cached = this.verified.getIfPresent(cacheKey);
+        if (cached != null)
+            return cached;
+        Authentication result = this.delegate.authenticate(authentication);
+        if (result != null && result.isAuthenticated())
+            this.verified.put(cacheKey, result);
+        return result;
+    }
+
+    private String digest(String username, String password) {
+        try {
+            Mac mac = Mac.getInstance(HMAC);
+            mac.init(this.key);
+            mac.update(username.getBytes(StandardCharsets.UTF_8));
+            // the separator cannot appear in a username of http basic
+            mac.update((byte) ':');
+            return Base64.getEncoder().encodeToString(mac.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+}
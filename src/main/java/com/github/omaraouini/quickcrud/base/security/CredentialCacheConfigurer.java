@@ -0,0 +1,42 @@
+package com.github.omaraouini.quickcrud.base.security;
+
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+
+import java.time.Duration;
+
+/**
+ * default http configurer (registered in META-INF/spring.factories, spring security applies it to every {@link HttpSecurity})
+ * wrapping the authentication manager of the filter chain in a {@link CachingAuthenticationManager}
+ * when {@code quickcrud.security.credential-cache.enabled=true} <br>
+ * it is applied before the configurers of the application (httpBasic, formLogin...), so their filters use the cached manager,
+ * whatever the profile and whoever declares the {@code SecurityFilterChain}
+ * @author aouin
+ * Date: 23/10/2026
+ * Time: 10:10
+ */
+public class CredentialCacheConfigurer extends AbstractHttpConfigurer<CredentialCacheConfigurer, HttpSecurity> {
+
+    public static final String ENABLED = "quickcrud.security.credential-cache.enabled";
+    public static final String TTL_SECONDS = "quickcrud.security.credential-cache.ttl-seconds";
+    public static final String MAX_ENTRIES = "quickcrud.security.credential-cache.max-entries";
+
+    @Override
+    public void configure(HttpSecurity http) {
+        ApplicationContext context = http.getSharedObject(ApplicationContext.class);
+        AuthenticationManager authenticationManager = http.getSharedObject(AuthenticationManager.class);
+        if (context == null || authenticationManager == null || authenticationManager instanceof CachingAuthenticationManager)
+            return;
+
+        Environment environment = context.getEnvironment();
+        if (!environment.getProperty(ENABLED, Boolean.class, false))
+            return;
+        // the shared manager is built before the configure phase, the authentication filters read it afterwards
+        http.setSharedObject(AuthenticationManager.class, new CachingAuthenticationManager(authenticationManager,
+                Duration.ofSeconds(environment.getProperty(TTL_SECONDS, Long.class, 60L)),
+                environment.getProperty(MAX_ENTRIES, Long.class, 10000L)));
+    }
+}
@@ -24,6 +24,7 @@ public class SecurityConfig {
     @Profile("local")
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity httpSecurity) throws Exception {
+        // the verified credentials cache (quickcrud.security.credential-cache.*) is applied by the CredentialCacheConfigurer
         return httpSecurity
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(auth -> auth
@@ -0,0 +1,312 @@
+package com.github.omaraouini.quickcrud.base.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.omaraouini.quickcrud.base.dto.BaseCodeDto;
+import com.github.omaraouini.quickcrud.base.dto.ChangeType;
+import com.github.omaraouini.quickcrud.base.dto.UpsertResult;
+import com.github.omaraouini.quickcrud.base.entity.BaseCodeEntity;
+import com.github.omaraouini.quickcrud.base.exception.InvalidRequestException;
+import com.github.omaraouini.quickcrud.base.exception.ResourceNotFoundException;
+import com.github.omaraouini.quickcrud.base.mapping.BaseMapper;
+import com.github.omaraouini.quickcrud.base.repository.BaseRepository;
+import com.github.omaraouini.quickcrud.base.repository.upsert.CodeUpsertStatement;
+import com.github.omaraouini.quickcrud.base.service.reference.ReferenceData;
+import com.github.omaraouini.quickcrud.base.service.reference.ReferenceDataCache;
+import com.github.omaraouini.quickcrud.base.utils.Translator;
+import com.github.omaraouini.quickcrud.base.utils.ValidationMsgConst;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.hibernate.Session;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jpa.event.spi.CallbackRegistry;
+import org.hibernate.jpa.event.spi.CallbackType;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ClassUtils;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * base crud service class for the value entities extending {@link BaseCodeEntity},
+ * in addition to the {@link BaseCrudService} methods it can insert or update the entities by their code
+ * with a single MERGE / INSERT ... ON CONFLICT statement per batch (see {@link CodeUpsertStatement}) <br>
+ * only the code, the description and the deleted flag are written, a soft deleted code is restored when upserted,
+ * other columns of the subclasses keep their value on update and their default on insert <br>
+ * the statements bypass hibernate, so when the entity is audited, the service has a change feed or the entity has lifecycle callbacks
+ * (eg: an auditing entity listener) the codes are upserted through hibernate instead, reading the rows of each batch with one query
+ * (a created entity is then mapped from its dto) <br>
+ * the inserted and updated counts are returned when the database reports them (PostgreSQL, SQL Server and the upserts through hibernate),
+ * otherwise only the upserted count <br>
+ * annotated with {@link ReferenceData} it serves get by id, get by code and get all from an in memory snapshot of the table,
+ * these reads do not open a transaction, so they do not take a connection from the pool,
+ * without the annotation they run in a read only transaction as the other reads <br>
+ * example usage:
+ * <pre>
+ *     {@code
+ *     @Service
+ *     public class ValueCodesService extends BaseCodeCrudService<ValueCodes, ValueCodesDto, ValueCodesRepository> {
+ *     public ValueCodesService(ValueCodesRepository repository, ValueCodesMapper mapper) {
+ *     super(repository, mapper);
+ *     }
+ *     }
+ *     }
+ * </pre>
+ * @author aouin
+ * Date: 20/10/2026
+ * Time: 10:40
+ */
+public abstract class BaseCodeCrudService<E extends BaseCodeEntity, D extends BaseCodeDto, R extends BaseRepository<E, Integer>>
+        extends BaseCrudService<E, D, Integer, R> implements CodeCrudService<D> {
+
+    @Value("${quickcrud.jpa.upsert.batch-size:500}")
+    private int upsertBatchSize;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    private final BaseMapper<E, D, Integer> codeMapper;
+    private final ReferenceData referenceDataSettings;
+    private ReferenceDataCache<D> referenceData;
+
+    protected BaseCodeCrudService(R repository, BaseMapper<E, D, Integer> mapper) {
+        super(repository, mapper);
+        this.codeMapper = mapper;
+        this.referenceDataSettings = AnnotatedElementUtils.findMergedAnnotation(ClassUtils.getUserClass(this.getClass()), ReferenceData.class);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public D get(Integer id) {
+        if (this.referenceData == null)
+            return this.readOnly(() -> super.get(id));
+        return this.referenceData.snapshot().get(id.intValue())
+                .orElseThrow(() -> new ResourceNotFoundException(Translator.toLocale(ValidationMsgConst.ENTITY_NOT_FOUND)));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Collection<D> get() {
+        if (this.referenceData == null)
+            return this.readOnly(super::get);
+        return this.referenceData.snapshot().all();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public D get(String code) {
+        if (this.referenceData != null)
+            return this.referenceData.snapshot().get(code)
+                    .orElseThrow(() -> new ResourceNotFoundException(Translator.toLocale(ValidationMsgConst.ENTITY_NOT_FOUND)));
+        return this.readOnly(() -> this.repository.findOne((root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("code"), code))
+                .map(this.codeMapper::mapFrom)
+                .orElseThrow(() -> new ResourceNotFoundException(Translator.toLocale(ValidationMsgConst.ENTITY_NOT_FOUND))));
+    }
+
+    @Override
+    public D post(D dto) {
+        D created = super.post(dto);
+        this.reloadReferenceData();
+        return created;
+    }
+
+    @Override
+    public D put(Integer id, D dto) {
+        D updated = super.put(id, dto);
+        this.reloadReferenceData();
+        return updated;
+    }
+
+    @Override
+    public D delete(Integer id) {
+        D deleted = super.delete(id);
+        this.reloadReferenceData();
+        return deleted;
+    }
+
+    @Override
+    public UpsertResult upsert(D dto) {
+        return this.upsert(List.of(dto));
+    }
+
+    @Override
+    public UpsertResult upsert(Collection<D> dtos) {
+        if (dtos.stream().anyMatch(dto -> dto == null || dto.getCode() == null || dto.getCode().isBlank()))
+            throw new InvalidRequestException(Translator.toLocale(ValidationMsgConst.UPSERT_CODE_REQUIRED));
+
+        // the last dto wins when the same code is sent more than once
+        Map<String, D> rows = new LinkedHashMap<>();
+        dtos.forEach(dto -> rows.put(dto.getCode(), dto));
+        List<D> distinct = new ArrayList<>(rows.values());
+
+        Session session = this.entityManager.unwrap(Session.class);
+        session.flush();
+        SessionFactoryImplementor sessionFactory = session.getSessionFactory().unwrap(SessionFactoryImplementor.class);
+        UpsertResult result = this.bypassesHibernate(sessionFactory)
+                ? this.upsertStatements(session, sessionFactory, distinct)
+                : this.upsertEntities(session, sessionFactory, distinct);
+        this.reloadReferenceData();
+        return result;
+    }
+
+    /**
+     * the statements write the table directly, they are used only when nothing observes the writes of the entity:
+     * it is not audited, the service has no change feed and the entity has no lifecycle callbacks nor entity listeners
+     */
+    private boolean bypassesHibernate(SessionFactoryImplementor sessionFactory) {
+        if (this.isAudited() || this.hasChangeFeed())
+            return false;
+        CallbackRegistry callbacks = sessionFactory.getEventEngine().getCallbackRegistry();
+        return Stream.of(CallbackType.PRE_PERSIST, CallbackType.POST_PERSIST, CallbackType.PRE_UPDATE, CallbackType.POST_UPDATE)
+                .noneMatch(type -> callbacks.hasRegisteredCallbacks(this.entityClass, type));
+    }
+
+    /**
+     * upserts each batch with a single statement, see {@link CodeUpsertStatement}
+     */
+    private UpsertResult upsertStatements(Session session, SessionFactoryImplementor sessionFactory, List<D> rows) {
+        AbstractEntityPersister persister = (AbstractEntityPersister) sessionFactory.getMappingMetamodel().getEntityDescriptor(this.entityClass);
+        String table = persister.getPropertyTableName("code");
+        String code = persister.getPropertyColumnNames("code")[0];
+        String description = persister.getPropertyColumnNames("description")[0];
+        String deleted = persister.getPropertyColumnNames("deleted")[0];
+        Dialect dialect = sessionFactory.getJdbcServices().getDialect();
+        boolean returnsActions = CodeUpsertStatement.returnsActions(dialect);
+
+        int inserted = 0;
+        for (int from = 0; from < rows.size(); from += this.upsertBatchSize) {
+            List<D> batch = rows.subList(from, Math.min(rows.size(), from + this.upsertBatchSize));
+            String upsertSql = CodeUpsertStatement.of(dialect, table, code, description, deleted, batch.size());
+            inserted += session.doReturningWork(connection -> {
+                try (PreparedStatement upsert = connection.prepareStatement(upsertSql)) {
+                    int index = 1;
+                    for (D row : batch) {
+                        upsert.setString(index++, row.getCode());
+                        upsert.setString(index++, row.getDescription());
+                        upsert.setBoolean(index++, false);
+                    }
+                    if (!returnsActions) {
+                        upsert.executeUpdate();
+                        return 0;
+                    }
+                    int batchInserted = 0;
+                    try (ResultSet actions = upsert.executeQuery()) {
+                        while (actions.next())
+                            if (CodeUpsertStatement.INSERTED.equals(actions.getString(1)))
+                                batchInserted++;
+                    }
+                    return batchInserted;
+                }
+            });
+        }
+        session.clear();
+        // the statements bypass hibernate, so the cached entities and query results of the table are stale
+        sessionFactory.getCache().evictEntityData(this.entityClass);
+        sessionFactory.getCache().evictQueryRegions();
+
+        return UpsertResult.builder()
+                .upserted(rows.size())
+                .inserted(returnsActions ? inserted : null)
+                .updated(returnsActions ? rows.size() - inserted : null)
+                .build();
+    }
+
+    /**
+     * upserts through hibernate, so envers, the change feed and the entity callbacks see the writes:
+     * the rows of each batch of codes are read with a native query (to include the soft deleted ones), then updated or created
+     */
+    @SuppressWarnings("unchecked")
+    private UpsertResult upsertEntities(Session session, SessionFactoryImplementor sessionFactory, List<D> rows) {
+        AbstractEntityPersister persister = (AbstractEntityPersister) sessionFactory.getMappingMetamodel().getEntityDescriptor(this.entityClass);
+        String selectSql = "select * from " + persister.getPropertyTableName("code")
+                + " where " + persister.getPropertyColumnNames("code")[0] + " in (:codes)";
+
+        int inserted = 0;
+        for (int from = 0; from < rows.size(); from += this.upsertBatchSize) {
+            List<D> batch = rows.subList(from, Math.min(rows.size(), from + this.upsertBatchSize));
+            Map<String, E> existing = new HashMap<>();
+            ((List<E>) this.entityManager.createNativeQuery(selectSql, this.entityClass)
+                    .setParameter("codes", batch.stream().map(BaseCodeDto::getCode).toList())
+                    .getResultList())
+                    .forEach(entity -> existing.put(entity.getCode(), entity));
+
+            List<E> saved = new ArrayList<>(batch.size());
+            for (D row : batch) {
+                E entity = existing.get(row.getCode());
+                if (entity == null) {
+                    entity = this.codeMapper.mapFrom(row);
+                    entity.setId(null);
+                    entity.setDeleted(false);
+                    this.repository.save(entity);
+                    inserted++;
+                } else {
+                    entity.setDescription(row.getDescription());
+                    entity.setDeleted(false);
+                }
+                saved.add(entity);
+            }
+            session.flush();
+            for (E entity : saved)
+                this.publishChange(existing.containsKey(entity.getCode()) ? ChangeType.UPDATED : ChangeType.CREATED,
+                        entity.getId(), this.codeMapper.mapFrom(entity));
+            session.clear();
+        }
+        return UpsertResult.builder()
+                .upserted(rows.size())
+                .inserted(inserted)
+                .updated(rows.size() - inserted)
+                .build();
+    }
+
+    @PostConstruct
+    private void initReferenceData() {
+        this.readOnlyTransaction = new TransactionTemplate(this.transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        if (this.referenceDataSettings == null)
+            return;
+        this.referenceData = new ReferenceDataCache<>(this.entityClass.getSimpleName(),
+                () -> this.repository.findAll().stream().map(this.codeMapper::mapFrom).toList(), this.objectMapper);
+        this.referenceData.reload();
+        if (this.referenceDataSettings.refreshIntervalSeconds() > 0)
+            this.referenceData.scheduleReload(this.referenceDataSettings.refreshIntervalSeconds());
+    }
+
+    @PreDestroy
+    private void shutdownReferenceData() {
+        if (this.referenceData != null)
+            this.referenceData.shutdown();
+    }
+
+    /**
+     * runs the read in a read only transaction (joining the current one), as the {@link CrudService} reads:
+     * the reads that can be served by the reference data are declared SUPPORTS, so the snapshot answers without a transaction
+     */
+    private <T> T readOnly(Supplier<T> read) {
+        return this.readOnlyTransaction.execute(status -> read.get());
+    }
+
+    private void reloadReferenceData() {
+        if (this.referenceData != null)
+            this.referenceData.reloadAfterCommit();
+    }
+}
@@ -1,20 +1,88 @@
 package com.github.omaraouini.quickcrud.base.service;
 
 import com.github.omaraouini.quickcrud.base.entity.BaseEntity;
+import com.github.omaraouini.quickcrud.base.entity.BaseEntitySyncable;
 import com.github.omaraouini.quickcrud.base.mapping.BaseMapper;
+import com.github.omaraouini.quickcrud.base.dto.AggregateRow;
 import com.github.omaraouini.quickcrud.base.dto.BaseDto;
+import com.github.omaraouini.quickcrud.base.dto.ChangeEvent;
+import com.github.omaraouini.quickcrud.base.dto.ChangeType;
+import com.github.omaraouini.quickcrud.base.dto.ChangesResponse;
+import com.github.omaraouini.quickcrud.base.dto.ImportReport;
+import com.github.omaraouini.quickcrud.base.dto.MultiGetResponse;
+import com.github.omaraouini.quickcrud.base.exception.DeadlineExceededException;
+import com.github.omaraouini.quickcrud.base.exception.InvalidRequestException;
+import com.github.omaraouini.quickcrud.base.importer.ImportRecord;
+import com.github.omaraouini.quickcrud.base.importer.ImportReportCollector;
 import com.github.omaraouini.quickcrud.base.exception.ResourceNotFoundException;
 import com.github.omaraouini.quickcrud.base.repository.BaseRepository;
+import com.github.omaraouini.quickcrud.base.repository.aggregate.AggregateQuery;
+import com.github.omaraouini.quickcrud.base.repository.cache.CacheableQuery;
+import com.github.omaraouini.quickcrud.base.repository.changes.ChangeCursor;
+import com.github.omaraouini.quickcrud.base.repository.changes.ChangesQuery;
+import com.github.omaraouini.quickcrud.base.repository.changes.InFlightModifications;
+import com.github.omaraouini.quickcrud.base.repository.fetch.FetchPlan;
+import com.github.omaraouini.quickcrud.base.repository.fetch.FetchPlanContext;
+import com.github.omaraouini.quickcrud.base.repository.fetch.FetchPlanResolver;
+import com.github.omaraouini.quickcrud.base.repository.specification.CompiledProbe;
 import com.github.omaraouini.quickcrud.base.repository.specification.ExampleSpecification;
+import com.github.omaraouini.quickcrud.base.service.changefeed.ChangeEventBus;
+import com.github.omaraouini.quickcrud.base.service.changefeed.ChangeFeed;
+import com.github.omaraouini.quickcrud.base.service.changefeed.ChangeSink;
+import com.github.omaraouini.quickcrud.base.service.changefeed.ChangeSubscription;
+import com.github.omaraouini.quickcrud.base.service.coalescing.CoalescedReads;
+import com.github.omaraouini.quickcrud.base.service.groupcommit.GroupCommit;
+import com.github.omaraouini.quickcrud.base.service.groupcommit.GroupCommitInterceptor;
+import com.github.omaraouini.quickcrud.base.service.groupcommit.GroupCommitter;
+import com.github.omaraouini.quickcrud.base.sharding.Sharded;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import com.github.omaraouini.quickcrud.base.utils.ValidationMsgConst;
 import com.github.omaraouini.quickcrud.base.utils.Translator;
+import com.github.omaraouini.quickcrud.base.validation.groups.InputValidationGroup;
+import com.github.omaraouini.quickcrud.base.validation.groups.PostValidationGroup;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import jakarta.validation.groups.Default;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.envers.AuditReader;
+import org.hibernate.envers.AuditReaderFactory;
+import org.hibernate.envers.RevisionType;
+import org.hibernate.envers.query.AuditEntity;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.data.domain.Example;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.convert.QueryByExamplePredicateBuilder;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ClassUtils;
+import org.springframework.validation.annotation.Validated;
 
 import java.io.Serializable;
-import java.util.Collection;
+import java.lang.reflect.Method;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * base crud service class used to define the common methods of all services
@@ -23,13 +91,20 @@ import java.util.Collection;
  * this class has the following methods:
  * <ul>
  *     <li>get: a method that returns an entity by its id</li>
+ *     <li>get: a method that returns the entities of a list of ids using a hibernate multi load, reporting the missing ones</li>
  *     <li>get: a method that returns a list of entities</li>
  *     <li>get: a method that returns a list of entities by example</li>
  *     <li>get: a method that returns a page of entities</li>
  *     <li>get: a method that returns a page of entities by example</li>
+ *     <li>changes: a method that returns the entities changed since a cursor and the tombstones of the deleted ones,
+ *     for the entities extending {@link BaseEntitySyncable}</li>
+ *     <li>aggregate: a method that groups the entities matching an example and computes aggregate metrics in the database</li>
  *     <li>post: a method that creates an entity</li>
  *     <li>put: a method that updates an entity by its id</li>
  *     <li>delete: a method that deletes an entity by its id</li>
+ *     <li>subscribe: a method that subscribes to the changes committed by post, put and delete, when the service is annotated with {@link ChangeFeed}</li>
+ *     <li>importAll: a method that creates the entities of a stream of records in chunks, each chunk in its own transaction
+ *     with a single flush and a clear of the persistence context, so the memory stays flat whatever the size of the stream</li>
  *     <li>example usage:
  *     <pre>
  *         {@code
@@ -41,6 +116,13 @@ import java.util.Collection;
  *         }
  *         }
  * </pre>
+ * associations needed by the mapper can be fetched together with the entities declaring a {@link FetchPlan}
+ * on the service class or overriding {@link #fetchPlan(CrudOperation)} <br>
+ * the get all, get by example and paged gets use the query cache when it is enabled ({@code quickcrud.jpa.cache.query-cache})
+ * and the entity is {@code @Cacheable} <br>
+ * concurrent identical reads can be coalesced into a single database query annotating the service class with {@link CoalescedReads},
+ * concurrent posts can be inserted in a single transaction annotating it with {@link GroupCommit},
+ * the committed changes can be pushed to subscribers annotating it with {@link ChangeFeed}
  *
  * @author aouin
  * Date: 04/03/2023
@@ -49,24 +131,114 @@ import java.util.Collection;
 @Slf4j
 public abstract class BaseCrudService<E extends BaseEntity<I>, D extends BaseDto<I>, I extends Serializable, R extends BaseRepository<E,I>> implements CrudService<D,I> {
 
+    private static final Method POST_METHOD = ClassUtils.getMethod(CrudService.class, "post", BaseDto.class);
+
     protected final R repository;
+
+    protected final Class<E> entityClass;
     private final BaseMapper<E,D,I> mapper;
+    private final Map<CrudOperation, List<String>> fetchPlans;
+    private final ChangeEventBus<D, I> changeFeed;
+    private final int changeReplayLimit;
+    private final Object revisionKey = new Object();
+    private volatile Boolean audited;
+    private volatile Boolean queryCached;
+    private final Map<Class<?>, CompiledProbe<E>> compiledProbes = new ConcurrentHashMap<>();
+
+    @PersistenceContext
+    protected EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private Validator validator;
+
+    @Value("${quickcrud.jpa.import.chunk-size:500}")
+    private int importChunkSize;
+
+    @Value("${quickcrud.jpa.import.max-errors:1000}")
+    private int importMaxErrors;
+
+    private GroupCommitter<D, D> postCommitter;
+
+    @Value("${quickcrud.jpa.multi-get.batch-size:100}")
+    private int multiGetBatchSize;
+
+    @Value("${quickcrud.jpa.multi-get.max-ids:1000}")
+    private int multiGetMaxIds;
 
+    @Value("${quickcrud.jpa.aggregate.max-buckets:1000}")
+    private int aggregateMaxBuckets;
+
+    @Value("${quickcrud.jpa.changes.max-size:1000}")
+    private int changesMaxSize;
+
+    @Value("${quickcrud.jpa.compiled-probes.enabled:true}")
+    private boolean compiledProbesEnabled;
+
+    @Value("${quickcrud.jpa.changes.settle-millis:1000}")
+    private long changesSettleMillis;
+
+    @SuppressWarnings("unchecked")
     protected BaseCrudService(R repository, BaseMapper<E, D, I> mapper) {
         this.repository = repository;
         this.mapper = mapper;
+        Class<?> serviceClass = ClassUtils.getUserClass(this.getClass());
+        Class<?>[] typeArguments = GenericTypeResolver.resolveTypeArguments(serviceClass, BaseCrudService.class);
+        this.entityClass = typeArguments == null ? null : (Class<E>) typeArguments[0];
+        this.fetchPlans = FetchPlanResolver.resolve(serviceClass);
+        ChangeFeed changeFeed = AnnotatedElementUtils.findMergedAnnotation(serviceClass, ChangeFeed.class);
+        this.changeFeed = changeFeed == null ? null : new ChangeEventBus<>(serviceClass.getSimpleName(), changeFeed.bufferSize(),
+                changeFeed.dispatcherThreads(), changeFeed.sendTimeoutMillis());
+        this.changeReplayLimit = changeFeed == null ? 0 : changeFeed.replayLimit();
     }
 
     @Override
     public D get(I id) {
-        return this.repository.findById(id)
+        List<String> attributePaths = this.fetchPlan(CrudOperation.GET_BY_ID);
+        return (attributePaths.isEmpty()
+                ? this.repository.findById(id)
+                : this.repository.findBy(byId(id), query -> query.project(attributePaths).first()))
+                // a soft deleted entity loaded by a multi get can be served by the second level cache, bypassing the @Where clause
+                .filter(entity -> !entity.isDeleted())
                 .map(this.mapper::mapFrom)
                 .orElseThrow(() -> new ResourceNotFoundException(Translator.toLocale(ValidationMsgConst.ENTITY_NOT_FOUND)));
     }
 
+    @Override
+    public MultiGetResponse<D, I> get(Collection<I> ids) {
+        if (ids.size() > this.multiGetMaxIds)
+            throw new InvalidRequestException(Translator.toLocale(ValidationMsgConst.TOO_MANY_IDS, new Object[]{this.multiGetMaxIds}));
+
+        List<I> distinctIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+        List<E> loaded = distinctIds.isEmpty() ? List.of() : this.entityManager.unwrap(Session.class)
+                .byMultipleIds(this.entityClass)
+                .withBatchSize(this.multiGetBatchSize)
+                .enableOrderedReturn(true)
+                .multiLoad(distinctIds);
+
+        List<D> content = new ArrayList<>(distinctIds.size());
+        List<I> missing = new ArrayList<>();
+        for (int i = 0; i < distinctIds.size(); i++) {
+            E entity = loaded.get(i);
+            if (entity == null || entity.isDeleted())
+                missing.add(distinctIds.get(i));
+            else
+                content.add(this.mapper.mapFrom(entity));
+        }
+        return MultiGetResponse.<D, I>builder()
+                .content(content)
+                .missing(missing)
+                .build();
+    }
+
     @Override
     public Collection<D> get() {
-        return this.repository.findAll()
+        List<String> attributePaths = this.fetchPlan(CrudOperation.GET_ALL);
+        return (attributePaths.isEmpty()
+                ? this.findAll(all())
+                : this.repository.findBy(all(), query -> query.project(attributePaths).all()))
                 .stream()
                 .map(this.mapper::mapFrom)
                 .toList();
@@ -74,7 +246,11 @@ public abstract class BaseCrudService<E extends BaseEntity<I>, D extends BaseDto
 
     @Override
     public Collection<D> get(D exampleDto) {
-        return this.repository.findAll(new ExampleSpecification<>(Example.of(this.mapper.mapFrom(exampleDto))))
+        List<String> attributePaths = this.fetchPlan(CrudOperation.GET_BY_EXAMPLE);
+        Specification<E> specification = this.exampleSpecification(exampleDto, true);
+        return (attributePaths.isEmpty()
+                ? this.findAll(specification)
+                : this.repository.findBy(specification, query -> query.project(attributePaths).all()))
                 .stream()
                 .map(this.mapper::mapFrom)
                 .toList();
@@ -82,19 +258,76 @@ public abstract class BaseCrudService<E extends BaseEntity<I>, D extends BaseDto
 
     @Override
     public Page<D> get(Pageable pageable) {
-        return this.repository.findAll(pageable)
+        List<String> attributePaths = this.fetchPlan(CrudOperation.GET_PAGE);
+        return (attributePaths.isEmpty()
+                ? this.findAll(all(), pageable)
+                : this.repository.findBy(all(), query -> query.project(attributePaths).page(pageable)))
                 .map(this.mapper::mapFrom);
     }
 
     @Override
     public Page<D> get(D exampleDto, Pageable pageable) {
-        return this.repository.findAll(Example.of(this.mapper.mapFrom(exampleDto)), pageable)
+        List<String> attributePaths = this.fetchPlan(CrudOperation.GET_PAGE_BY_EXAMPLE);
+        Specification<E> specification = this.exampleSpecification(exampleDto, false);
+        return (attributePaths.isEmpty()
+                ? this.findAll(specification, pageable)
+                : this.repository.findBy(specification, query -> query.project(attributePaths).page(pageable)))
                 .map(this.mapper::mapFrom);
     }
 
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public ChangesResponse<D, I> changes(String since, int size) {
+        if (!BaseEntitySyncable.class.isAssignableFrom(this.entityClass))
+            throw new InvalidRequestException(Translator.toLocale(ValidationMsgConst.CHANGES_NOT_SUPPORTED));
+
+        int limit = Math.max(1, Math.min(size, this.changesMaxSize));
+        ChangesQuery<?> query = new ChangesQuery<>(this.entityManager, (Class) this.entityClass);
+        ChangeCursor cursor = since == null || since.isBlank() ? null : ChangeCursor.decode(since, query.idClass());
+        // read up to the oldest transaction of this instance still in flight, and leave out the most recent modifications,
+        // so the transactions of the other instances committing now are read by the next call
+        Instant until = InFlightModifications.holdBack(Instant.now().minusMillis(this.changesSettleMillis));
+        List<ChangesQuery.ChangedRow> rows = query.execute(cursor, until, limit + 1);
+        boolean hasMore = rows.size() > limit;
+        List<ChangesQuery.ChangedRow> page = hasMore ? rows.subList(0, limit) : rows;
+
+        List<I> changedIds = page.stream().filter(row -> !row.deleted()).map(row -> (I) row.id()).toList();
+        List<E> changed = changedIds.isEmpty() ? List.of() : this.entityManager.unwrap(Session.class)
+                .byMultipleIds(this.entityClass)
+                .withBatchSize(this.multiGetBatchSize)
+                .enableOrderedReturn(true)
+                .multiLoad(changedIds);
+        return ChangesResponse.<D, I>builder()
+                .content(changed.stream()
+                        // deleted after the read of the changes, its tombstone comes with the next cursor
+                        .filter(entity -> entity != null && !entity.isDeleted())
+                        .map(this.mapper::mapFrom)
+                        .toList())
+                .deleted(page.stream().filter(ChangesQuery.ChangedRow::deleted).map(row -> (I) row.id()).toList())
+                .cursor(page.isEmpty() ? since : page.get(page.size() - 1).cursor().encode())
+                .hasMore(hasMore)
+                .build();
+    }
+
+    @Override
+    public List<AggregateRow> aggregate(D exampleDto, List<String> groupBy, List<String> metrics) {
+        // exact matching, as the paged get: the groups must add up to the page totals of the same filter
+        return this.aggregate(this.exampleSpecification(exampleDto, false), groupBy, metrics);
+    }
+
+    /**
+     * groups the entities matching the specification (eg: a {@link com.github.omaraouini.quickcrud.base.repository.specification.GenericSearchSpecification})
+     * and computes the metrics in the database, see {@link AggregateQuery}
+     */
+    protected List<AggregateRow> aggregate(Specification<E> specification, List<String> groupBy, List<String> metrics) {
+        return new AggregateQuery<>(this.entityManager, this.entityClass, this.aggregateMaxBuckets).execute(specification, groupBy, metrics);
+    }
+
     @Override
     public D post(D dto) {
-        return this.mapper.mapFrom(this.repository.saveAndFlush(this.mapper.mapFrom(dto)));
+        D created = this.mapper.mapFrom(this.repository.saveAndFlush(this.mapper.mapFrom(dto)));
+        this.publishChange(ChangeType.CREATED, created.getId(), created);
+        return created;
     }
 
     @Override
@@ -102,13 +335,323 @@ public abstract class BaseCrudService<E extends BaseEntity<I>, D extends BaseDto
         if (!this.repository.existsById(id))
             throw new ResourceNotFoundException(Translator.toLocale(ValidationMsgConst.ENTITY_NOT_FOUND));
 
-        return this.mapper.mapFrom(this.repository.saveAndFlush(this.mapper.mapFrom(dto)));
+        D updated = this.mapper.mapFrom(this.repository.saveAndFlush(this.mapper.mapFrom(dto)));
+        this.publishChange(ChangeType.UPDATED, updated.getId(), updated);
+        return updated;
     }
 
     @Override
     public D delete(I id) {
         E found = this.repository.findById(id).orElseThrow(() -> new ResourceNotFoundException(Translator.toLocale(ValidationMsgConst.ENTITY_NOT_FOUND)));
+        if (found instanceof BaseEntitySyncable<?> syncable) {
+            // the soft delete statement does not update the modification instant, the tombstone needs it
+            syncable.setModifiedAt(InFlightModifications.stamp());
+            this.repository.flush();
+        }
         this.repository.deleteById(id);
+        this.publishChange(ChangeType.DELETED, id, null);
         return this.mapper.mapFrom(found);
     }
+
+    @Override
+    public ChangeSubscription<D, I> subscribe(Long lastEventId, ChangeSink<D, I> sink) {
+        if (this.changeFeed == null)
+            throw new InvalidRequestException(Translator.toLocale(ValidationMsgConst.CHANGE_FEED_DISABLED));
+
+        // subscribe before reading the audit tables, so the changes committed meanwhile are buffered
+        ChangeSubscription<D, I> subscription = this.changeFeed.subscribe(sink);
+        try {
+            subscription.start(lastEventId == null ? List.of() : this.replayChanges(lastEventId));
+        } catch (RuntimeException e) {
+            subscription.close();
+            throw e;
+        }
+        return subscription;
+    }
+
+    @Override
+    public ImportReport importAll(Iterator<ImportRecord<D>> records) {
+        ImportReportCollector report = new ImportReportCollector(this.importMaxErrors);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(this.transactionManager);
+        List<ImportRecord<D>> chunk = new ArrayList<>(this.importChunkSize);
+        while (records.hasNext()) {
+            ImportRecord<D> importRecord = records.next();
+            String error = importRecord.error() != null ? importRecord.error() : this.validateImport(importRecord.dto());
+            if (error != null) {
+                report.failed(importRecord.line(), error);
+                continue;
+            }
+            chunk.add(importRecord);
+            if (chunk.size() == this.importChunkSize) {
+                this.importChunk(transactionTemplate, chunk, report);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty())
+            this.importChunk(transactionTemplate, chunk, report);
+        return report.report();
+    }
+
+    /**
+     * creates the entity with the group commit of the service annotated with {@link GroupCommit}, waiting for the commit of its batch <br>
+     * it is called in place of {@link #post} by the {@link GroupCommitInterceptor} when the caller has no transaction,
+     * so the dto is validated here as the method validation validates the parameters of {@link #post}
+     */
+    public D groupCommit(D dto) {
+        if (this.postCommitter == null)
+            throw new IllegalStateException(ClassUtils.getUserClass(this.getClass()).getSimpleName() + " is not annotated with @GroupCommit");
+        Set<ConstraintViolation<Object>> violations = this.validator.forExecutables().validateParameters(this, POST_METHOD, new Object[]{dto},
+                methodValidationGroups(ClassUtils.getUserClass(this.getClass())));
+        if (!violations.isEmpty())
+            throw new ConstraintViolationException(violations);
+        return this.postCommitter.submit(dto);
+    }
+
+    /**
+     * @return the groups the method validation applies to the methods of the service, the ones of its {@link Validated} annotation
+     */
+    private static Class<?>[] methodValidationGroups(Class<?> serviceClass) {
+        Validated validated = AnnotationUtils.findAnnotation(serviceClass, Validated.class);
+        return validated == null ? new Class<?>[0] : validated.value();
+    }
+
+    private String validateImport(D dto) {
+        Set<ConstraintViolation<D>> violations = this.validator.validate(dto, Default.class, InputValidationGroup.class, PostValidationGroup.class);
+        if (violations.isEmpty())
+            return null;
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + Translator.toLocale(
+                        violation.getMessageTemplate().replace("{", "").replace("}", ""), null, violation.getMessage()))
+                .collect(Collectors.joining(", "));
+    }
+
+    private void importChunk(TransactionTemplate transactionTemplate, List<ImportRecord<D>> chunk, ImportReportCollector report) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<E> saved = chunk.stream().map(importRecord -> this.repository.save(this.mapper.mapFrom(importRecord.dto()))).toList();
+                this.entityManager.flush();
+                if (this.changeFeed != null)
+                    saved.forEach(entity -> this.publishChange(ChangeType.CREATED, entity.getId(), this.mapper.mapFrom(entity)));
+                this.entityManager.clear();
+            });
+            report.imported(chunk.size());
+        } catch (RuntimeException e) {
+            // the deadline of the caller has passed, retrying the records one by one would only time out each of them
+            if (timedOut(e))
+                throw e;
+            if (chunk.size() == 1) {
+                report.failed(chunk.get(0).line(), NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                return;
+            }
+            // find the failing records retrying the chunk one record at a time
+            chunk.forEach(importRecord -> this.importChunk(transactionTemplate, List.of(importRecord), report));
+        }
+    }
+
+    private static boolean timedOut(Throwable exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause())
+            if (cause instanceof DeadlineExceededException || cause instanceof TransactionTimedOutException
+                    || cause instanceof QueryTimeoutException || cause instanceof jakarta.persistence.QueryTimeoutException)
+                return true;
+        return false;
+    }
+
+    @PostConstruct
+    private void initGroupCommit() {
+        Class<?> serviceClass = ClassUtils.getUserClass(this.getClass());
+        GroupCommit groupCommit = AnnotatedElementUtils.findMergedAnnotation(serviceClass, GroupCommit.class);
+        if (groupCommit == null)
+            return;
+        // the batches are committed by the worker thread, without the shard selected for each post
+        if (AnnotatedElementUtils.hasAnnotation(serviceClass, Sharded.class))
+            throw new IllegalStateException(serviceClass.getName() + " cannot be annotated with both @GroupCommit and @Sharded");
+        this.postCommitter = new GroupCommitter<>(this.entityClass.getSimpleName(), new TransactionTemplate(this.transactionManager),
+                groupCommit.maxBatchSize(), groupCommit.maxDelayMillis(), groupCommit.timeoutMillis(),
+                dto -> {
+                    E saved = this.repository.save(this.mapper.mapFrom(dto));
+                    return () -> {
+                        D created = this.mapper.mapFrom(saved);
+                        this.publishChange(ChangeType.CREATED, created.getId(), created);
+                        return created;
+                    };
+                },
+                this.repository::flush);
+    }
+
+    @PreDestroy
+    private void shutdown() {
+        if (this.postCommitter != null)
+            this.postCommitter.shutdown();
+        if (this.changeFeed != null)
+            this.changeFeed.shutdown();
+    }
+
+    /**
+     * publishes the change after the commit of the current transaction, the event id is the envers revision
+     * of the transaction when the entity is audited
+     */
+    protected void publishChange(ChangeType type, I id, D content) {
+        if (this.changeFeed == null)
+            return;
+        Supplier<Long> revision = this.isAudited() && TransactionSynchronizationManager.isActualTransactionActive()
+                ? this.transactionRevision(id)
+                : () -> null;
+        this.changeFeed.publishAfterCommit(() -> ChangeEvent.<D, I>builder()
+                .revision(revision.get())
+                .type(type)
+                .id(id)
+                .content(content)
+                .build());
+    }
+
+    /**
+     * envers writes the audit rows and creates the revision before the completion of the transaction, so the revision is read once
+     * per transaction, right after it, as the last revision of the first changed entity (its row is locked until the commit) <br>
+     * the pending changes are flushed first, so envers registers its process before this one
+     * @return the supplier of the revision of the current transaction, to call after its commit
+     */
+    @SuppressWarnings("unchecked")
+    private Supplier<Long> transactionRevision(I id) {
+        AtomicReference<Long> revision = (AtomicReference<Long>) TransactionSynchronizationManager.getResource(this.revisionKey);
+        if (revision == null) {
+            AtomicReference<Long> current = new AtomicReference<>();
+            TransactionSynchronizationManager.bindResource(this.revisionKey, current);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(BaseCrudService.this.revisionKey);
+                }
+            });
+            this.entityManager.flush();
+            this.entityManager.unwrap(SessionImplementor.class).getActionQueue().registerProcess(session -> {
+                List<Number> revisions = AuditReaderFactory.get(this.entityManager).getRevisions(this.entityClass, id);
+                current.set(revisions.isEmpty() ? null : revisions.get(revisions.size() - 1).longValue());
+            });
+            revision = current;
+        }
+        return revision::get;
+    }
+
+    /**
+     * reads the changes from the revision of the last event id (included, the delivery is at least once),
+     * or a single RESET event when they cannot be replayed: the entity is not audited or there are more than the replay limit
+     */
+    @SuppressWarnings("unchecked")
+    private List<ChangeEvent<D, I>> replayChanges(long lastEventId) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(this.transactionManager);
+        transactionTemplate.setReadOnly(true);
+        return transactionTemplate.execute(status -> {
+            if (!this.isAudited())
+                return List.of(ChangeEvent.<D, I>builder().type(ChangeType.RESET).build());
+
+            AuditReader auditReader = AuditReaderFactory.get(this.entityManager);
+            List<Object[]> rows = auditReader.createQuery()
+                    .forRevisionsOfEntity(this.entityClass, false, true)
+                    .add(AuditEntity.revisionNumber().ge(lastEventId))
+                    .addOrder(AuditEntity.revisionNumber().asc())
+                    .addOrder(AuditEntity.id().asc())
+                    .setMaxResults(this.changeReplayLimit + 1)
+                    .getResultList();
+            if (rows.size() > this.changeReplayLimit)
+                return List.of(ChangeEvent.<D, I>builder().type(ChangeType.RESET).build());
+
+            return rows.stream()
+                    .map(row -> {
+                        E entity = (E) row[0];
+                        boolean deleted = row[2] == RevisionType.DEL;
+                        return ChangeEvent.<D, I>builder()
+                                .revision(this.revisionNumber(row[1]))
+                                .type(deleted ? ChangeType.DELETED : row[2] == RevisionType.ADD ? ChangeType.CREATED : ChangeType.UPDATED)
+                                .id(entity.getId())
+                                .content(deleted ? null : this.mapper.mapFrom(entity))
+                                .build();
+                    })
+                    .toList();
+        });
+    }
+
+    protected boolean hasChangeFeed() {
+        return this.changeFeed != null;
+    }
+
+    protected boolean isAudited() {
+        if (this.audited == null)
+            this.audited = AuditReaderFactory.get(this.entityManager).isEntityClassAudited(this.entityClass);
+        return this.audited;
+    }
+
+    private Long revisionNumber(Object revisionEntity) {
+        return ((Number) this.entityManager.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(revisionEntity)).longValue();
+    }
+
+    /**
+     * returns the attribute paths that need to be fetched together with the entities for the given operation,
+     * by default the ones declared by the controller handling the current request or by the {@link FetchPlan} annotations of this service <br>
+     * override it to compute the fetch plan programmatically
+     * @param operation the operation being executed
+     * @return the attribute paths to fetch, empty to use the plain repository methods
+     */
+    protected List<String> fetchPlan(CrudOperation operation) {
+        List<String> attributePaths = FetchPlanContext.get(operation);
+        if (attributePaths != null)
+            return attributePaths;
+        return this.fetchPlans.getOrDefault(operation, List.of());
+    }
+
+    /**
+     * specification of the entities matching the example dto, built from a {@link CompiledProbe} of the dto class when it can be compiled,
+     * otherwise from the query by example of the dto mapped to an entity <br>
+     * the compiled probes can be disabled with {@code quickcrud.jpa.compiled-probes.enabled=false},
+     * eg: when the mapper does not map the dto properties to the entity attributes of the same name
+     * @param containing true for the CONTAINING ignore case matching of the strings, false for the exact matching
+     */
+    protected Specification<E> exampleSpecification(D exampleDto, boolean containing) {
+        if (this.compiledProbesEnabled) {
+            CompiledProbe<E> compiledProbe = this.compiledProbes.computeIfAbsent(exampleDto.getClass(),
+                    dtoClass -> CompiledProbe.compile(dtoClass, this.entityManager.getMetamodel().entity(this.entityClass)));
+            if (compiledProbe.isApplicable())
+                return compiledProbe.toSpecification(exampleDto, containing);
+        }
+        Example<E> example = Example.of(this.mapper.mapFrom(exampleDto));
+        if (containing)
+            return new ExampleSpecification<>(example);
+        return (root, query, criteriaBuilder) -> QueryByExamplePredicateBuilder.getPredicate(root, criteriaBuilder, example);
+    }
+
+    /**
+     * returns the entities matching the specification, using the query cache when it is enabled and the entity is stored
+     * in the second level cache
+     */
+    protected List<E> findAll(Specification<E> specification) {
+        return this.isQueryCached()
+                ? new CacheableQuery<>(this.entityManager, this.entityClass).list(specification)
+                : this.repository.findAll(specification);
+    }
+
+    /**
+     * returns a page of the entities matching the specification, using the query cache when it is enabled and the entity is stored
+     * in the second level cache
+     */
+    protected Page<E> findAll(Specification<E> specification, Pageable pageable) {
+        return this.isQueryCached()
+                ? new CacheableQuery<>(this.entityManager, this.entityClass).page(specification, pageable)
+                : this.repository.findAll(specification, pageable);
+    }
+
+    private boolean isQueryCached() {
+        if (this.queryCached == null) {
+            SessionFactoryImplementor sessionFactory = this.entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class);
+            this.queryCached = sessionFactory.getSessionFactoryOptions().isQueryCacheEnabled()
+                    && sessionFactory.getMappingMetamodel().getEntityDescriptor(this.entityClass).getCacheAccessStrategy() != null;
+        }
+        return this.queryCached;
+    }
+
+    private static <E> Specification<E> all() {
+        return (root, query, criteriaBuilder) -> null;
+    }
+
+    private static <E, I> Specification<E> byId(I id) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("id"), id);
+    }
 }
@@ -0,0 +1,34 @@
+package com.github.omaraouini.quickcrud.base.service;
+
+import com.github.omaraouini.quickcrud.base.dto.BaseCodeDto;
+import com.github.omaraouini.quickcrud.base.dto.UpsertResult;
+import com.github.omaraouini.quickcrud.base.validation.groups.InputValidationGroup;
+import jakarta.validation.Valid;
+import jakarta.validation.groups.Default;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.Collection;
+
+/**
+ * crud service interface for the value entities having a unique code,
+ * in addition to the {@link CrudService} methods it has the following methods:
+ * <ul>
+ *     <li>get: a method that returns an entity by its code</li>
+ *     <li>upsert: a method that inserts or updates an entity by its code</li>
+ *     <li>upsert: a method that inserts or updates a list of entities by their code</li>
+ * </ul>
+ * the upserts will validate the input dtos using the Default and InputValidationGroup groups
+ * @author aouin
+ * Date: 20/10/2026
+ * Time: 10:35
+ */
+@Validated
+public interface CodeCrudService<D extends BaseCodeDto> extends CrudService<D, Integer> {
+    @Transactional(readOnly = true)
+    D get(String code);
+    @Transactional
+    UpsertResult upsert(@Validated({Default.class, InputValidationGroup.class}) @Valid D dto);
+    @Transactional
+    UpsertResult upsert(@Validated({Default.class, InputValidationGroup.class}) Collection<@Valid D> dtos);
+}
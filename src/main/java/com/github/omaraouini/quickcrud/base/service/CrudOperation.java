@@ -0,0 +1,16 @@
+package com.github.omaraouini.quickcrud.base.service;
+
+/**
+ * these values are used to identify the operations exposed by {@link CrudService},
+ * so that per operation behaviours (eg: fetch plans) can be declared on services and controllers
+ * @author aouin
+ * Date: 19/10/2026
+ * Time: 09:12
+ */
+public enum CrudOperation {
+    GET_BY_ID,
+    GET_ALL,
+    GET_BY_EXAMPLE,
+    GET_PAGE,
+    GET_PAGE_BY_EXAMPLE
+}
@@ -1,6 +1,13 @@
 package com.github.omaraouini.quickcrud.base.service;
 
+import com.github.omaraouini.quickcrud.base.dto.AggregateRow;
 import com.github.omaraouini.quickcrud.base.dto.BaseDto;
+import com.github.omaraouini.quickcrud.base.dto.ChangesResponse;
+import com.github.omaraouini.quickcrud.base.dto.ImportReport;
+import com.github.omaraouini.quickcrud.base.dto.MultiGetResponse;
+import com.github.omaraouini.quickcrud.base.importer.ImportRecord;
+import com.github.omaraouini.quickcrud.base.service.changefeed.ChangeSink;
+import com.github.omaraouini.quickcrud.base.service.changefeed.ChangeSubscription;
 import com.github.omaraouini.quickcrud.base.validation.groups.InputValidationGroup;
 import com.github.omaraouini.quickcrud.base.validation.groups.PostValidationGroup;
 import com.github.omaraouini.quickcrud.base.validation.groups.PutValidationGroup;
@@ -13,6 +20,8 @@ import org.springframework.validation.annotation.Validated;
 
 import java.io.Serializable;
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
 
 /**
  * base crud service interface used to define the common methods of all services
@@ -26,32 +35,53 @@ import java.util.Collection;
  *     <li>PutValidationGroup: the group that contains the put validation constraints</li>
  * </ul>
  * you can leverage these groups to define your own validation constraints on the dto class with the help of the
- * jakarta.validation.constraints package <br> <br>
+ * jakarta.validation.constraints package <br>
+ * the read methods run in a read only transaction (hibernate flush mode MANUAL and read only entities, so no dirty checking snapshots),
+ * the dtos are mapped inside it, so lazy associations do not need the open session in view, see {@code quickcrud.jpa.osiv-free} <br> <br>
  * this interface has the following methods:
  * <ul>
  *     <li>get: a method that returns an entity by its id</li>
+ *     <li>get: a method that returns the entities of a list of ids, reporting the missing ones</li>
  *     <li>get: a method that returns a list of entities</li>
  *     <li>get: a method that returns a list of entities by example</li>
  *     <li>get: a method that returns a page of entities</li>
  *     <li>get: a method that returns a page of entities by example</li>
+ *     <li>changes: a method that returns a page of the entities changed since a cursor, with the ids of the deleted ones</li>
+ *     <li>aggregate: a method that groups the entities matching an example and computes aggregate metrics in the database</li>
  *     <li>post: a method that creates an entity</li>
  *     <li>put: a method that updates an entity by its id</li>
  *     <li>delete: a method that deletes an entity by its id</li>
+ *     <li>importAll: a method that creates the entities read from a stream of records, validating them with the post groups
+ *     and committing them in chunks, it returns a per line error report</li>
+ *     <li>subscribe: a method that pushes the changes committed by post, put and delete to a sink, replaying the ones after the last event id</li>
  * @author aouin
  * Date: 04/03/2023
  * Time: 16:09
  */
 @Validated
 public interface CrudService<D extends BaseDto<I>, I extends Serializable> {
+    @Transactional(readOnly = true)
     D get(I id);
+    @Transactional(readOnly = true)
+    MultiGetResponse<D,I> get(Collection<I> ids);
+    @Transactional(readOnly = true)
     Collection<D> get();
+    @Transactional(readOnly = true)
     Collection<D> get(D exampleDto);
+    @Transactional(readOnly = true)
     Page<D> get(Pageable pageable);
+    @Transactional(readOnly = true)
     Page<D> get(D exampleDto, Pageable pageable);
+    @Transactional(readOnly = true)
+    ChangesResponse<D,I> changes(String since, int size);
+    @Transactional(readOnly = true)
+    List<AggregateRow> aggregate(D exampleDto, List<String> groupBy, List<String> metrics);
     @Transactional
     D post(@Validated({Default.class, InputValidationGroup.class, PostValidationGroup.class}) @Valid D dto);
     @Transactional
     D put(@Validated({Default.class, InputValidationGroup.class, PutValidationGroup.class}) I id, @Valid D dto);
     @Transactional
     D delete(I id);
+    ImportReport importAll(Iterator<ImportRecord<D>> records);
+    ChangeSubscription<D,I> subscribe(Long lastEventId, ChangeSink<D,I> sink);
 }
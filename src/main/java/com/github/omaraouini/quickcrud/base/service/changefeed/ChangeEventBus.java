@@ -0,0 +1,85 @@
+package com.github.omaraouini.quickcrud.base.service.changefeed;
+
+import com.github.omaraouini.quickcrud.base.dto.BaseDto;
+import com.github.omaraouini.quickcrud.base.dto.ChangeEvent;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * in process bus of the changes of an entity, publishing them to its {@link ChangeSubscription}s <br>
+ * the events are published after the commit of the transaction that made the change and are sent to the sinks
+ * by a fixed pool of daemon threads, never by the publishing thread <br>
+ * a subscription has at most one pending drain task, so the queue of the pool is bounded by the number of subscribers,
+ * and it sends a limited number of events per task, so a few threads are shared fairly by all the subscribers
+ * @author aouin
+ * Date: 21/10/2026
+ * Time: 14:40
+ */
+public class ChangeEventBus<D extends BaseDto<I>, I extends Serializable> {
+
+    private final int bufferSize;
+    private final Set<ChangeSubscription<D, I>> subscriptions = ConcurrentHashMap.newKeySet();
+    private final long sendTimeoutNanos;
+    private final ExecutorService dispatcher;
+
+    public ChangeEventBus(String name, int bufferSize, int dispatcherThreads, long sendTimeoutMillis) {
+        this.bufferSize = bufferSize;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis);
+        AtomicInteger threads = new AtomicInteger();
+        this.dispatcher = Executors.newFixedThreadPool(dispatcherThreads, runnable -> {
+            Thread thread = new Thread(runnable, "change-feed-" + name + "-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * registers a subscription, its events are buffered until {@link ChangeSubscription#start} is called
+     */
+    public ChangeSubscription<D, I> subscribe(ChangeSink<D, I> sink) {
+        ChangeSubscription<D, I> subscription = new ChangeSubscription<>(this.bufferSize, this.sendTimeoutNanos, sink, this.dispatcher, this.subscriptions::remove);
+        this.subscriptions.add(subscription);
+        return subscription;
+    }
+
+    public void publish(ChangeEvent<D, I> event) {
+        this.subscriptions.forEach(subscription -> subscription.offer(event));
+    }
+
+    /**
+     * publishes the event after the commit of the current transaction (all the events of the transaction in order),
+     * or immediately when there is none, the events of a rolled back transaction are discarded
+     * @param event supplier of the event, called once the transaction is committed
+     */
+    public void publishAfterCommit(Supplier<ChangeEvent<D, I>> event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            this.publish(event.get());
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                ChangeEventBus.this.publish(event.get());
+            }
+        });
+    }
+
+    public int subscribers() {
+        return this.subscriptions.size();
+    }
+
+    public void shutdown() {
+        new ArrayList<>(this.subscriptions).forEach(ChangeSubscription::close);
+        this.dispatcher.shutdownNow();
+    }
+}
@@ -0,0 +1,39 @@
+package com.github.omaraouini.quickcrud.base.service.changefeed;
+
+import java.lang.annotation.*;
+
+/**
+ * enables the change feed on a service extending {@link com.github.omaraouini.quickcrud.base.service.BaseCrudService}:
+ * the changes made by {@code post}, {@code put} and {@code delete} are pushed to the subscribers after the commit <br>
+ * each subscriber has a buffer of {@code bufferSize} events, a subscriber that does not keep up (its buffer is full,
+ * or sending it an event takes more than {@code sendTimeoutMillis}) is disconnected instead of slowing down the others,
+ * it resumes from its last event id <br>
+ * the events are sent to the subscribers by a pool of {@code dispatcherThreads} threads <br>
+ * when the entity is audited with envers the event id is the revision number, and the changes since the last event id
+ * are replayed from the audit tables (up to {@code replayLimit} changes, otherwise a RESET event is sent) <br>
+ * example usage:
+ * <pre>
+ *     {@code
+ *     @Service
+ *     @ChangeFeed(bufferSize = 256)
+ *     public class PersonService extends BaseCrudService<Person, PersonDto, Integer, PersonRepository> {
+ *     ...
+ *     }
+ *     }
+ * </pre>
+ * @author aouin
+ * Date: 21/10/2026
+ * Time: 14:15
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ChangeFeed {
+    int bufferSize() default 256;
+
+    int replayLimit() default 1000;
+
+    int dispatcherThreads() default 2;
+
+    long sendTimeoutMillis() default 5000;
+}
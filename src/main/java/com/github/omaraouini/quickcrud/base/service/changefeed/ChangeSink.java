@@ -0,0 +1,22 @@
+package com.github.omaraouini.quickcrud.base.service.changefeed;
+
+import com.github.omaraouini.quickcrud.base.dto.BaseDto;
+import com.github.omaraouini.quickcrud.base.dto.ChangeEvent;
+
+import java.io.IOException;
+import java.io.Serializable;
+
+/**
+ * destination of the events of a {@link ChangeSubscription}, eg: a server sent events emitter
+ * @author aouin
+ * Date: 21/10/2026
+ * Time: 14:20
+ */
+public interface ChangeSink<D extends BaseDto<I>, I extends Serializable> {
+    void send(ChangeEvent<D, I> event) throws IOException;
+
+    /**
+     * called once when the subscription is closed, because the sink failed or did not keep up with the events
+     */
+    void close();
+}
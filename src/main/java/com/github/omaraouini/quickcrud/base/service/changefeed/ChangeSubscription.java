@@ -0,0 +1,153 @@
+package com.github.omaraouini.quickcrud.base.service.changefeed;
+
+import com.github.omaraouini.quickcrud.base.dto.BaseDto;
+import com.github.omaraouini.quickcrud.base.dto.ChangeEvent;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * a subscriber of a {@link ChangeEventBus}, the published events are buffered in a bounded queue and sent to the sink
+ * by the dispatcher, a subscription is drained by at most one thread at a time <br>
+ * when the buffer is full, or when sending an event takes more than the send timeout, the subscription is closed,
+ * so a slow consumer never blocks the publishers or the other subscribers for long <br>
+ * a drain sends at most {@value #EVENTS_PER_DRAIN} buffered events then gives its thread back to the other subscriptions <br>
+ * the events are buffered from the subscription, they are sent once {@link #start} is called with the replayed events
+ * @author aouin
+ * Date: 21/10/2026
+ * Time: 14:25
+ */
+@Slf4j
+public class ChangeSubscription<D extends BaseDto<I>, I extends Serializable> {
+
+    private static final int EVENTS_PER_DRAIN = 64;
+
+    private final BlockingQueue<ChangeEvent<D, I>> buffer;
+    private final long sendTimeoutNanos;
+    private final ChangeSink<D, I> sink;
+    private final Executor dispatcher;
+    private final Consumer<ChangeSubscription<D, I>> onClose;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile boolean started;
+    /** start of the send in progress, 0 when none */
+    private volatile long sendStartedNanos;
+    private volatile List<ChangeEvent<D, I>> replay = List.of();
+    private volatile Set<List<Object>> replayed = Set.of();
+
+    ChangeSubscription(int bufferSize, long sendTimeoutNanos, ChangeSink<D, I> sink, Executor dispatcher, Consumer<ChangeSubscription<D, I>> onClose) {
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.sendTimeoutNanos = sendTimeoutNanos;
+        this.sink = sink;
+        this.dispatcher = dispatcher;
+        this.onClose = onClose;
+    }
+
+    /**
+     * starts sending the events, the replayed ones first, the buffered events already replayed are skipped
+     * @param replay the events replayed from the last event id of the subscriber
+     */
+    public void start(List<ChangeEvent<D, I>> replay) {
+        this.replay = replay;
+        this.replayed = replay.stream()
+                .filter(event -> event.getRevision() != null)
+                .map(ChangeSubscription::key)
+                .collect(Collectors.toSet());
+        this.started = true;
+        this.schedule();
+    }
+
+    public boolean isClosed() {
+        return this.closed.get();
+    }
+
+    public void close() {
+        if (!this.closed.compareAndSet(false, true))
+            return;
+        this.buffer.clear();
+        this.onClose.accept(this);
+        this.sink.close();
+    }
+
+    void offer(ChangeEvent<D, I> event) {
+        if (this.closed.get())
+            return;
+        long sendStarted = this.sendStartedNanos;
+        if (sendStarted != 0 && System.nanoTime() - sendStarted > this.sendTimeoutNanos) {
+            log.debug("change feed subscriber stuck in a send, disconnecting it");
+            this.close();
+            return;
+        }
+        if (!this.buffer.offer(event)) {
+            log.debug("change feed subscriber too slow, {} events buffered, disconnecting it", this.buffer.size());
+            this.close();
+            return;
+        }
+        this.schedule();
+    }
+
+    private void schedule() {
+        if (!this.started || this.closed.get() || !this.draining.compareAndSet(false, true))
+            return;
+        try {
+            this.dispatcher.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            // the bus is shutting down
+            this.draining.set(false);
+            this.close();
+        }
+    }
+
+    private void drain() {
+        try {
+            for (ChangeEvent<D, I> event : this.replay)
+                this.send(event);
+            this.replay = List.of();
+            ChangeEvent<D, I> event;
+            for (int sent = 0; sent < EVENTS_PER_DRAIN && !this.closed.get() && (event = this.buffer.poll()) != null; sent++) {
+                if (event.getRevision() == null || !this.replayed.contains(key(event)))
+                    this.send(event);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.debug("change feed subscriber failed, disconnecting it", e);
+            this.close();
+        } finally {
+            this.draining.set(false);
+        }
+        // the events left by the limit, or offered while the drain was ending
+        if (!this.buffer.isEmpty())
+            this.schedule();
+    }
+
+    private void send(ChangeEvent<D, I> event) throws IOException {
+        if (this.closed.get())
+            return;
+        long started = System.nanoTime();
+        this.sendStartedNanos = started;
+        try {
+            this.sink.send(event);
+        } finally {
+            this.sendStartedNanos = 0;
+        }
+        if (System.nanoTime() - started > this.sendTimeoutNanos) {
+            log.debug("change feed subscriber too slow, sending an event took more than {} ms, disconnecting it",
+                    TimeUnit.NANOSECONDS.toMillis(this.sendTimeoutNanos));
+            this.close();
+        }
+    }
+
+    private static List<Object> key(ChangeEvent<?, ?> event) {
+        return List.of(event.getRevision(), event.getType(), event.getId());
+    }
+}
@@ -0,0 +1,36 @@
+package com.github.omaraouini.quickcrud.base.service.coalescing;
+
+import java.lang.annotation.*;
+
+/**
+ * enables the coalescing of concurrent identical reads on a service extending
+ * {@link com.github.omaraouini.quickcrud.base.service.BaseCrudService} <br>
+ * when many requests execute the same read at the same moment (same id, or same example probe and pageable)
+ * only the first one hits the database, the others wait for its result, up to {@code maxWaitMillis} and the deadline of their request,
+ * after that they run their own query <br>
+ * a failure of the first read is not shared, the waiting callers then run their own query <br>
+ * the reads are coalesced by the {@link CoalescingInterceptor} before the transaction is opened, so the waiting callers hold no connection,
+ * the reads called inside a transaction are not coalesced <br>
+ * nothing is cached once the read completes, so there is no staleness: a read started after the end of the previous one
+ * always hits the database <br>
+ * the waiting callers receive the same dto instances, so they should not modify them <br>
+ * example usage:
+ * <pre>
+ *     {@code
+ *     @Service
+ *     @CoalescedReads(maxWaitMillis = 1000)
+ *     public class PersonService extends BaseCrudService<Person, PersonDto, Integer, PersonRepository> {
+ *     ...
+ *     }
+ *     }
+ * </pre>
+ * @author aouin
+ * Date: 19/10/2026
+ * Time: 14:05
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CoalescedReads {
+    long maxWaitMillis() default 2000;
+}
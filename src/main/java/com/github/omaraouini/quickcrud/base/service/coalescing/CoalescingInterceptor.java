@@ -0,0 +1,63 @@
+package com.github.omaraouini.quickcrud.base.service.coalescing;
+
+import com.github.omaraouini.quickcrud.base.dto.BaseDto;
+import com.github.omaraouini.quickcrud.base.repository.fetch.FetchPlanContext;
+import com.github.omaraouini.quickcrud.base.service.CrudOperation;
+import com.github.omaraouini.quickcrud.base.sharding.ShardContext;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.lang.NonNull;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * coalesces the concurrent identical {@code get} calls of the services annotated with {@link CoalescedReads} <br>
+ * it runs before the transaction interceptor, so only the leading call opens a transaction and takes a connection,
+ * the waiting callers hold none <br>
+ * a call made inside a transaction is not coalesced, it must see the uncommitted writes of that transaction
+ * @author aouin
+ * Date: 23/10/2026
+ * Time: 09:40
+ */
+public class CoalescingInterceptor implements MethodInterceptor {
+
+    /**
+     * key identifying identical reads, made of the method, its normalized arguments (ids, pageables, {@link ProbeKey} of the dtos),
+     * the fetch plans of the request and the shard selected by the sharding interceptor (the calls it scatters on all the shards
+     * have the same arguments)
+     */
+    private record ReadKey(Method method, List<Object> arguments, Map<CrudOperation, List<String>> fetchPlans, Integer shard) {}
+
+    private final Map<Class<?>, SingleFlight<ReadKey, Object>> flights = new ConcurrentHashMap<>();
+
+    @Override
+    public Object invoke(@NonNull MethodInvocation invocation) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive() || invocation.getThis() == null)
+            return invocation.proceed();
+
+        SingleFlight<ReadKey, Object> flight = this.flights.computeIfAbsent(ClassUtils.getUserClass(invocation.getThis()), serviceClass -> {
+            CoalescedReads coalescedReads = AnnotatedElementUtils.findMergedAnnotation(serviceClass, CoalescedReads.class);
+            return new SingleFlight<>(coalescedReads == null ? 0 : coalescedReads.maxWaitMillis());
+        });
+        List<Object> arguments = Arrays.stream(invocation.getArguments())
+                .map(argument -> argument instanceof BaseDto<?> dto ? ProbeKey.of(dto) : argument)
+                .toList();
+        return flight.execute(new ReadKey(invocation.getMethod(), arguments, FetchPlanContext.current(), ShardContext.current()), () -> {
+            try {
+                return invocation.proceed();
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new UndeclaredThrowableException(e);
+            }
+        });
+    }
+}
@@ -0,0 +1,33 @@
+package com.github.omaraouini.quickcrud.base.service.coalescing;
+
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+
+import java.beans.PropertyDescriptor;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * normalized representation of an example probe, used as a coalescing key <br>
+ * two probes are equal when they have the same type and the same non null property values,
+ * regardless of their identity
+ * @author aouin
+ * Date: 19/10/2026
+ * Time: 14:30
+ */
+public record ProbeKey(Class<?> type, Map<String, Object> values) {
+
+    public static ProbeKey of(Object probe) {
+        BeanWrapper beanWrapper = new BeanWrapperImpl(probe);
+        Map<String, Object> values = new TreeMap<>();
+        for (PropertyDescriptor descriptor : beanWrapper.getPropertyDescriptors()) {
+            String name = descriptor.getName();
+            if (!"class".equals(name) && beanWrapper.isReadableProperty(name)) {
+                Object value = beanWrapper.getPropertyValue(name);
+                if (value != null)
+                    values.put(name, value);
+            }
+        }
+        return new ProbeKey(probe.getClass(), values);
+    }
+}
@@ -0,0 +1,62 @@
+package com.github.omaraouini.quickcrud.base.service.coalescing;
+
+import com.github.omaraouini.quickcrud.base.deadline.DeadlineContext;
+
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * executes at most one call per key at a time, concurrent callers with the same key
+ * wait for the in flight call and share its result <br>
+ * only the successful results are shared: the failure of the leading call may come from its own caller
+ * (eg: the timeout of its request), so when it fails each waiting caller executes the call on its own <br>
+ * the wait is bounded by {@code maxWaitMillis} and by the deadline of the caller (see {@link DeadlineContext}),
+ * a caller waiting longer executes the call on its own <br>
+ * the key is released as soon as the call completes, results are never cached
+ * @author aouin
+ * Date: 19/10/2026
+ * Time: 14:12
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final long maxWaitMillis;
+
+    public SingleFlight(long maxWaitMillis) {
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    public V execute(K key, Supplier<V> call) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = this.inFlight.putIfAbsent(key, flight);
+        if (existing == null)
+            return this.lead(key, flight, call);
+
+        long waitMillis = this.maxWaitMillis;
+        Long remainingMillis = DeadlineContext.remainingMillis();
+        if (remainingMillis != null)
+            waitMillis = Math.max(0, Math.min(waitMillis, remainingMillis));
+        try {
+            return existing.get(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            return call.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
+    }
+
+    private V lead(K key, CompletableFuture<V> flight, Supplier<V> call) {
+        try {
+            V result = call.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            this.inFlight.remove(key, flight);
+        }
+    }
+}
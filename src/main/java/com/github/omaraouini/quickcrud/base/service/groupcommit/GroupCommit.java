@@ -0,0 +1,42 @@
+package com.github.omaraouini.quickcrud.base.service.groupcommit;
+
+import java.lang.annotation.*;
+
+/**
+ * enables the group commit of the concurrent {@code post} calls on a service extending
+ * {@link com.github.omaraouini.quickcrud.base.service.BaseCrudService} <br>
+ * the dtos posted at the same moment are gathered for up to {@code maxDelayMillis} or {@code maxBatchSize} items
+ * and inserted in a single transaction, so the cost of the commit is paid once per batch instead of once per request,
+ * each caller receives its own created dto <br>
+ * when the batch fails the items are retried one by one in their own transaction, so a failing item does not fail the others <br>
+ * the posts are grouped only when the caller has no transaction: the {@link GroupCommitInterceptor} validates the dto and submits it
+ * before the transaction interceptor, so the waiting callers do not hold a connection,
+ * a post joining the transaction of its caller (eg: an atomic batch) is executed directly <br>
+ * a caller waits for its batch at most {@code timeoutMillis}, and not after the deadline of its request <br>
+ * with IDENTITY ids hibernate executes one insert per entity, use a sequence with {@code hibernate.jdbc.batch_size}
+ * to also batch the insert statements <br>
+ * a service cannot be both group committed and {@link com.github.omaraouini.quickcrud.base.sharding.Sharded}, it fails at startup <br>
+ * example usage:
+ * <pre>
+ *     {@code
+ *     @Service
+ *     @GroupCommit(maxBatchSize = 100, maxDelayMillis = 5)
+ *     public class MeasureService extends BaseCrudService<Measure, MeasureDto, Long, MeasureRepository> {
+ *     ...
+ *     }
+ *     }
+ * </pre>
+ * @author aouin
+ * Date: 20/10/2026
+ * Time: 09:10
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface GroupCommit {
+    int maxBatchSize() default 50;
+
+    long maxDelayMillis() default 5;
+
+    long timeoutMillis() default 10000;
+}
@@ -0,0 +1,30 @@
+package com.github.omaraouini.quickcrud.base.service.groupcommit;
+
+import com.github.omaraouini.quickcrud.base.dto.BaseDto;
+import com.github.omaraouini.quickcrud.base.service.BaseCrudService;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.lang.NonNull;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * sends the {@code post} calls of the services annotated with {@link GroupCommit} to their group committer <br>
+ * it runs before the transaction interceptor: the caller waits for its batch without a transaction, so without a connection <br>
+ * when a transaction is already active the post is executed directly in it, so it commits or rolls back with its caller
+ * @author aouin
+ * Date: 23/10/2026
+ * Time: 09:20
+ */
+public class GroupCommitInterceptor implements MethodInterceptor {
+
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Object invoke(@NonNull MethodInvocation invocation) throws Throwable {
+        Object[] arguments = invocation.getArguments();
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                || !(invocation.getThis() instanceof BaseCrudService service)
+                || arguments.length != 1 || !(arguments[0] instanceof BaseDto<?> dto))
+            return invocation.proceed();
+        return service.groupCommit(dto);
+    }
+}
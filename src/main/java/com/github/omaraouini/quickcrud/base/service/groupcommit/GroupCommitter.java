@@ -0,0 +1,161 @@
+package com.github.omaraouini.quickcrud.base.service.groupcommit;
+
+import com.github.omaraouini.quickcrud.base.deadline.DeadlineContext;
+import com.github.omaraouini.quickcrud.base.exception.DeadlineExceededException;
+import com.github.omaraouini.quickcrud.base.utils.Translator;
+import com.github.omaraouini.quickcrud.base.utils.ValidationMsgConst;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * gathers the items submitted concurrently and writes them in batches, each batch in a single transaction <br>
+ * the {@code writer} is called for each item inside the transaction (with the security context of the caller that submitted it)
+ * and returns the supplier of the item result, the suppliers are called after {@code flush}, before the commit <br>
+ * when a batch fails its items are retried one by one, each in its own transaction, except the ones whose caller stopped waiting,
+ * an error escaping the writer fails the items of its batch and the worker goes on with the next one <br>
+ * the callers wait for their batch at most {@code timeoutMillis} (and not after the deadline of their request),
+ * an item not yet taken by the worker is then dropped, one already in a batch may still be committed
+ * @author aouin
+ * Date: 20/10/2026
+ * Time: 09:25
+ */
+@Slf4j
+public class GroupCommitter<T, R> {
+
+    private record Pending<T, R>(T item, SecurityContext securityContext, CompletableFuture<R> result) {}
+
+    private final BlockingQueue<Pending<T, R>> queue = new LinkedBlockingQueue<>();
+    private final TransactionTemplate transactionTemplate;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final long timeoutMillis;
+    private final Function<T, Supplier<R>> writer;
+    private final Runnable flush;
+    private final Thread worker;
+
+    public GroupCommitter(String name, TransactionTemplate transactionTemplate, int maxBatchSize, long maxDelayMillis, long timeoutMillis,
+                         Function<T, Supplier<R>> writer, Runnable flush) {
+        this.transactionTemplate = transactionTemplate;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+        this.timeoutMillis = timeoutMillis;
+        this.writer = writer;
+        this.flush = flush;
+        this.worker = new Thread(this::run, "group-commit-" + name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * submits the item and waits for the commit of its batch, it must be called outside of any transaction
+     * @return the result of the item
+     * @throws DeadlineExceededException when the batch is not committed within the timeout or the deadline of the request
+     */
+    public R submit(T item) {
+        Long remainingMillis = DeadlineContext.remainingMillis();
+        long timeout = remainingMillis == null ? this.timeoutMillis : Math.min(this.timeoutMillis, remainingMillis);
+        if (timeout <= 0)
+            throw new DeadlineExceededException(Translator.toLocale(ValidationMsgConst.DEADLINE_EXCEEDED));
+
+        CompletableFuture<R> result = new CompletableFuture<>();
+        this.queue.add(new Pending<>(item, SecurityContextHolder.getContext(), result));
+        try {
+            return result.get(timeout, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // skipped by the worker if it has not taken it yet
+            result.cancel(false);
+            throw new DeadlineExceededException(Translator.toLocale(ValidationMsgConst.DEADLINE_EXCEEDED));
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException)
+                throw runtimeException;
+            throw new CompletionException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
+    }
+
+    public void shutdown() {
+        this.worker.interrupt();
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            List<Pending<T, R>> batch;
+            try {
+                batch = this.nextBatch();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            try {
+                this.write(batch);
+            } catch (Throwable e) {
+                log.error("group commit of {} items failed", batch.size(), e);
+                batch.forEach(pending -> pending.result().completeExceptionally(e));
+            }
+        }
+        this.queue.forEach(pending -> pending.result().completeExceptionally(new CancellationException("group committer stopped")));
+    }
+
+    /**
+     * @return the next items to write, without the ones whose caller stopped waiting
+     */
+    private List<Pending<T, R>> nextBatch() throws InterruptedException {
+        List<Pending<T, R>> batch = new ArrayList<>(this.maxBatchSize);
+        Pending<T, R> first;
+        do {
+            first = this.queue.take();
+        } while (first.result().isDone());
+        batch.add(first);
+        long deadline = System.nanoTime() + this.maxDelayNanos;
+        while (batch.size() < this.maxBatchSize) {
+            Pending<T, R> next = this.queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            if (next == null)
+                break;
+            if (!next.result().isDone())
+                batch.add(next);
+        }
+        return batch;
+    }
+
+    private void write(List<Pending<T, R>> batch) {
+        try {
+            List<R> results = this.transactionTemplate.execute(status -> {
+                List<Supplier<R>> suppliers = batch.stream().map(this::writeOne).toList();
+                this.flush.run();
+                return suppliers.stream().map(Supplier::get).toList();
+            });
+            for (int i = 0; i < batch.size(); i++)
+                batch.get(i).result().complete(results.get(i));
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.get(0).result().completeExceptionally(e);
+                return;
+            }
+            log.debug("group commit of {} items failed, retrying one by one", batch.size(), e);
+            // the callers that stopped waiting are not retried, their items were rolled back with the batch
+            batch.stream()
+                    .filter(pending -> !pending.result().isDone())
+                    .forEach(pending -> this.write(List.of(pending)));
+        }
+    }
+
+    private Supplier<R> writeOne(Pending<T, R> pending) {
+        SecurityContext previous = SecurityContextHolder.getContext();
+        SecurityContextHolder.setContext(pending.securityContext());
+        try {
+            return this.writer.apply(pending.item());
+        } finally {
+            SecurityContextHolder.setContext(previous);
+        }
+    }
+}
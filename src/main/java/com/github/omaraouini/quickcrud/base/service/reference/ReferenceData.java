@@ -0,0 +1,35 @@
+package com.github.omaraouini.quickcrud.base.service.reference;
+
+import java.lang.annotation.*;
+
+/**
+ * serves the reads of a service extending {@link com.github.omaraouini.quickcrud.base.service.BaseCodeCrudService}
+ * from an in memory snapshot of the whole code table, with no database access <br>
+ * the table is fully loaded at startup, reloaded after each committed write made through the service
+ * and every {@code refreshIntervalSeconds} (to see the changes made by other instances), the new snapshot replaces the old one atomically
+ * only when its content changed <br>
+ * meant for small, hot and rarely changing code tables <br>
+ * the dtos are shared by all the callers, so they should not be modified <br>
+ * example usage:
+ * <pre>
+ *     {@code
+ *     @Service
+ *     @ReferenceData(refreshIntervalSeconds = 300)
+ *     public class ValueCodesService extends BaseCodeCrudService<ValueCodes, ValueCodesDto, ValueCodesRepository> {
+ *     ...
+ *     }
+ *     }
+ * </pre>
+ * @author aouin
+ * Date: 20/10/2026
+ * Time: 14:00
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ReferenceData {
+    /**
+     * interval between two scheduled reloads, 0 to reload only after the writes of this instance
+     */
+    long refreshIntervalSeconds() default 60;
+}
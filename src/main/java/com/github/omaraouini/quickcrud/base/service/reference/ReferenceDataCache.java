@@ -0,0 +1,94 @@
+package com.github.omaraouini.quickcrud.base.service.reference;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.omaraouini.quickcrud.base.dto.BaseCodeDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * holds the current {@link ReferenceDataSnapshot} of a code table, the reads access a volatile reference with no lock,
+ * the reloads build a new snapshot and swap it atomically, the periodic reloads keep the current snapshot when nothing changed,
+ * the reloads after a write always swap it
+ * @author aouin
+ * Date: 20/10/2026
+ * Time: 14:25
+ */
+@Slf4j
+public class ReferenceDataCache<D extends BaseCodeDto> {
+
+    private final String name;
+    private final Supplier<Collection<D>> loader;
+    private final ObjectMapper objectMapper;
+    private volatile ReferenceDataSnapshot<D> snapshot;
+    private ScheduledExecutorService scheduler;
+
+    public ReferenceDataCache(String name, Supplier<Collection<D>> loader, ObjectMapper objectMapper) {
+        this.name = name;
+        this.loader = loader;
+        this.objectMapper = objectMapper;
+    }
+
+    public ReferenceDataSnapshot<D> snapshot() {
+        ReferenceDataSnapshot<D> current = this.snapshot;
+        return current != null ? current : this.reload();
+    }
+
+    public ReferenceDataSnapshot<D> reload() {
+        return this.reload(true);
+    }
+
+    /**
+     * @param always false to keep the current snapshot when the loaded one has the same content
+     */
+    private synchronized ReferenceDataSnapshot<D> reload(boolean always) {
+        ReferenceDataSnapshot<D> loaded = new ReferenceDataSnapshot<>(this.loader.get(), this.objectMapper);
+        if (always || !loaded.sameContent(this.snapshot)) {
+            this.snapshot = loaded;
+            log.debug("reference data {} reloaded, {} entries", this.name, loaded.all().size());
+        }
+        return this.snapshot;
+    }
+
+    /**
+     * reloads the snapshot after the commit of the current transaction, or immediately when there is none
+     */
+    public void reloadAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            this.reload();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                ReferenceDataCache.this.reload();
+            }
+        });
+    }
+
+    public void scheduleReload(long intervalSeconds) {
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "reference-data-" + this.name);
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                this.reload(false);
+            } catch (RuntimeException e) {
+                log.warn("reference data {} reload failed, keeping the current snapshot", this.name, e);
+            }
+        }, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    public void shutdown() {
+        if (this.scheduler != null)
+            this.scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,56 @@
+package com.github.omaraouini.quickcrud.base.service.reference;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.omaraouini.quickcrud.base.dto.BaseCodeDto;
+
+import java.util.*;
+
+/**
+ * immutable snapshot of a code table <br>
+ * the entries are indexed by id (sorted primitive array, binary search) and by code (immutable map),
+ * so the lookups need no lock and no boxing of the ids
+ * @author aouin
+ * Date: 20/10/2026
+ * Time: 14:10
+ */
+public final class ReferenceDataSnapshot<D extends BaseCodeDto> {
+
+    private final int[] ids;
+    private final Map<String, D> byCode;
+    private final List<D> all;
+    private final List<JsonNode> content;
+
+    /**
+     * @param objectMapper converts the entries to json trees, to compare all their attributes with the ones of another snapshot
+     */
+    public ReferenceDataSnapshot(Collection<D> entries, ObjectMapper objectMapper) {
+        List<D> sorted = entries.stream().sorted(Comparator.comparing(BaseCodeDto::getId)).toList();
+        this.ids = sorted.stream().mapToInt(BaseCodeDto::getId).toArray();
+        Map<String, D> codes = new HashMap<>();
+        sorted.stream().filter(entry -> entry.getCode() != null).forEach(entry -> codes.put(entry.getCode(), entry));
+        this.byCode = Map.copyOf(codes);
+        this.all = sorted;
+        this.content = sorted.stream().map(entry -> (JsonNode) objectMapper.valueToTree(entry)).toList();
+    }
+
+    public Optional<D> get(int id) {
+        int index = Arrays.binarySearch(this.ids, id);
+        return index < 0 ? Optional.empty() : Optional.of(this.all.get(index));
+    }
+
+    public Optional<D> get(String code) {
+        return Optional.ofNullable(this.byCode.get(code));
+    }
+
+    public List<D> all() {
+        return this.all;
+    }
+
+    /**
+     * @return true if the other snapshot has the same entries, all their serialized attributes being equal
+     */
+    public boolean sameContent(ReferenceDataSnapshot<D> other) {
+        return other != null && this.content.equals(other.content);
+    }
+}
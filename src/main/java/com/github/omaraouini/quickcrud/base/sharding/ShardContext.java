@@ -0,0 +1,37 @@
+package com.github.omaraouini.quickcrud.base.sharding;
+
+/**
+ * holds the shard of the current thread, read by {@link ShardRoutingDataSource} when a connection is acquired,
+ * so it must be set before the transaction begins
+ * @author aouin
+ * Date: 22/10/2026
+ * Time: 09:10
+ */
+public class ShardContext {
+    private ShardContext() {}
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    /**
+     * @return the shard of the current thread, null when none was selected
+     */
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    public static void set(Integer shard) {
+        if (shard == null)
+            CURRENT.remove();
+        else
+            CURRENT.set(shard);
+    }
+
+    /**
+     * @return the shard of the id: the id modulo the number of shards for the numeric ids, its hash otherwise
+     */
+    public static int shardOf(Object id, int shards) {
+        if (id instanceof Number number)
+            return (int) Math.floorMod(number.longValue(), (long) shards);
+        return Math.floorMod(id.hashCode(), shards);
+    }
+}
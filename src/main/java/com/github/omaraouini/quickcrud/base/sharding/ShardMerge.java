@@ -0,0 +1,61 @@
+package com.github.omaraouini.quickcrud.base.sharding;
+
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.Sort;
+
+import java.util.*;
+
+/**
+ * merges the results read from the shards
+ * @author aouin
+ * Date: 22/10/2026
+ * Time: 09:30
+ */
+public class ShardMerge {
+    private ShardMerge() {}
+
+    /**
+     * k way merge of lists sorted with the same comparator
+     * @param limit the maximum number of merged elements
+     */
+    public static <T> List<T> sorted(List<List<T>> lists, Comparator<? super T> comparator, long limit) {
+        record Cursor<T>(List<T> list, int position) {
+            T current() {
+                return this.list.get(this.position);
+            }
+        }
+        PriorityQueue<Cursor<T>> heads = new PriorityQueue<>(Math.max(1, lists.size()), (a, b) -> comparator.compare(a.current(), b.current()));
+        lists.stream().filter(list -> !list.isEmpty()).forEach(list -> heads.add(new Cursor<>(list, 0)));
+
+        List<T> merged = new ArrayList<>();
+        while (!heads.isEmpty() && merged.size() < limit) {
+            Cursor<T> head = heads.poll();
+            merged.add(head.current());
+            if (head.position() + 1 < head.list().size())
+                heads.add(new Cursor<>(head.list(), head.position() + 1));
+        }
+        return merged;
+    }
+
+    /**
+     * @return the comparator of the dtos on the properties of the sort, by default the null values are the lowest ones
+     * (first in ascending order, last in descending order) as in H2 and MySQL
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static <T> Comparator<T> comparator(Sort sort) {
+        Comparator<T> comparator = (a, b) -> 0;
+        for (Sort.Order order : sort) {
+            Comparator<Comparable> natural = order.isAscending() ? Comparator.naturalOrder() : Comparator.reverseOrder();
+            boolean nullsFirst = switch (order.getNullHandling()) {
+                case NULLS_FIRST -> true;
+                case NULLS_LAST -> false;
+                case NATIVE -> order.isAscending();
+            };
+            Comparator<T> property = Comparator.comparing(
+                    dto -> (Comparable) new BeanWrapperImpl(dto).getPropertyValue(order.getProperty()),
+                    nullsFirst ? Comparator.nullsFirst(natural) : Comparator.nullsLast(natural));
+            comparator = comparator.thenComparing(property);
+        }
+        return comparator;
+    }
+}
@@ -0,0 +1,50 @@
+package com.github.omaraouini.quickcrud.base.sharding;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * data source routing the connections to the shard of the current thread ({@link ShardContext}),
+ * the first shard when none is selected (eg: hibernate bootstrap, custom queries outside the sharded services)
+ * @author aouin
+ * Date: 22/10/2026
+ * Time: 09:15
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    private final List<DataSource> shards;
+
+    public ShardRoutingDataSource(List<DataSource> shards) {
+        this.shards = List.copyOf(shards);
+        Map<Object, Object> targets = new HashMap<>();
+        for (int i = 0; i < shards.size(); i++)
+            targets.put(i, shards.get(i));
+        this.setTargetDataSources(targets);
+        this.setDefaultTargetDataSource(shards.get(0));
+        this.setLenientFallback(false);
+        this.afterPropertiesSet();
+    }
+
+    public int shardCount() {
+        return this.shards.size();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.current();
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        for (DataSource shard : this.shards)
+            if (shard instanceof Closeable closeable)
+                closeable.close();
+    }
+}
@@ -0,0 +1,38 @@
+package com.github.omaraouini.quickcrud.base.sharding;
+
+import java.lang.annotation.*;
+
+/**
+ * distributes the entities of a service extending {@link com.github.omaraouini.quickcrud.base.service.BaseCrudService}
+ * across the shards configured with {@code quickcrud.sharding.*} (see {@link ShardingProperties}) <br>
+ * the shard of an entity is its id modulo the number of shards, the identity of the table on each shard must generate
+ * the ids of that shard only (start with {@code {firstId}}, increment by {@code {shards}}, see {@link ShardingProperties#getInitScripts()}),
+ * so the ids are unique across the shards and an entity created on any shard is found again by its id <br>
+ * <ul>
+ *     <li>get by id, put and delete are executed on the shard of the id</li>
+ *     <li>post and importAll are executed on the shards in round robin</li>
+ *     <li>get by ids is executed on the shards of the ids, in parallel</li>
+ *     <li>get all, get by example and the paged gets are executed on all the shards in parallel,
+ *     the pages are merged on their sort (the id when unsorted)</li>
+ *     <li>aggregate, changes and subscribe are not supported</li>
+ * </ul>
+ * the code entities ({@link com.github.omaraouini.quickcrud.base.service.BaseCodeCrudService}) cannot be sharded <br>
+ * example usage:
+ * <pre>
+ *     {@code
+ *     @Service
+ *     @Sharded
+ *     public class MeasureService extends BaseCrudService<Measure, MeasureDto, Long, MeasureRepository> {
+ *     ...
+ *     }
+ *     }
+ * </pre>
+ * @author aouin
+ * Date: 22/10/2026
+ * Time: 09:05
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Sharded {
+}
@@ -0,0 +1,220 @@
+package com.github.omaraouini.quickcrud.base.sharding;
+
+import com.github.omaraouini.quickcrud.base.deadline.DeadlineContext;
+import com.github.omaraouini.quickcrud.base.dto.BaseDto;
+import com.github.omaraouini.quickcrud.base.dto.MultiGetResponse;
+import com.github.omaraouini.quickcrud.base.exception.InvalidRequestException;
+import com.github.omaraouini.quickcrud.base.repository.fetch.FetchPlanContext;
+import com.github.omaraouini.quickcrud.base.service.CrudOperation;
+import com.github.omaraouini.quickcrud.base.utils.Translator;
+import com.github.omaraouini.quickcrud.base.utils.ValidationMsgConst;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * routes the calls to the services annotated with {@link Sharded}, see the annotation for the routing of each method <br>
+ * it runs before the transaction interceptor, so each transaction takes its connection from the selected shard <br>
+ * the calls executed on several shards run in parallel, each in its own transaction, with the security context,
+ * the locale, the fetch plans and the deadline of the caller <br>
+ * a paged get on all the shards reads the first {@code offset + size} rows of each shard,
+ * so the offset is limited to {@code quickcrud.sharding.max-merge-offset}
+ * @author aouin
+ * Date: 22/10/2026
+ * Time: 09:40
+ */
+public class ShardingInterceptor implements MethodInterceptor {
+
+    private static final Set<String> UNSUPPORTED = Set.of("aggregate", "changes", "subscribe");
+
+    private final int shards;
+    private final ExecutorService executor;
+    private final long maxMergeOffset;
+    private final AtomicInteger nextShard = new AtomicInteger();
+
+    public ShardingInterceptor(int shards, ExecutorService executor, long maxMergeOffset) {
+        this.shards = shards;
+        this.executor = executor;
+        this.maxMergeOffset = maxMergeOffset;
+    }
+
+    @Override
+    public Object invoke(@NonNull MethodInvocation invocation) throws Throwable {
+        // nested call of a sharded service, already routed
+        if (ShardContext.current() != null)
+            return invocation.proceed();
+
+        String name = invocation.getMethod().getName();
+        Object[] arguments = invocation.getArguments();
+        if (UNSUPPORTED.contains(name))
+            throw new InvalidRequestException(Translator.toLocale(ValidationMsgConst.SHARDING_NOT_SUPPORTED));
+
+        switch (name) {
+            case "get" -> {
+                if (arguments.length == 0 || (arguments.length == 1 && arguments[0] instanceof BaseDto<?>))
+                    return this.all(invocation);
+                if (arguments.length == 1 && arguments[0] instanceof Pageable pageable)
+                    return this.page(invocation, pageable, shardPageable -> new Object[]{shardPageable});
+                if (arguments.length == 2 && arguments[1] instanceof Pageable pageable)
+                    return this.page(invocation, pageable, shardPageable -> new Object[]{arguments[0], shardPageable});
+                if (arguments.length == 1 && arguments[0] instanceof Collection<?> ids)
+                    return this.byIds(invocation, ids);
+                if (arguments.length == 1 && arguments[0] != null)
+                    return this.onShard(invocation, ShardContext.shardOf(arguments[0], this.shards));
+            }
+            case "put", "delete" -> {
+                if (arguments.length > 0 && arguments[0] != null)
+                    return this.onShard(invocation, ShardContext.shardOf(arguments[0], this.shards));
+            }
+            case "post" -> {
+                if (arguments.length == 1 && arguments[0] instanceof BaseDto<?> dto && dto.getId() != null)
+                    return this.onShard(invocation, ShardContext.shardOf(dto.getId(), this.shards));
+                return this.onShard(invocation, this.nextShard());
+            }
+            case "importAll" -> {
+                return this.onShard(invocation, this.nextShard());
+            }
+            default -> {
+                // custom methods run on the first shard, unless they select one with ShardContext
+            }
+        }
+        return invocation.proceed();
+    }
+
+    private Object onShard(MethodInvocation invocation, int shard) throws Throwable {
+        ShardContext.set(shard);
+        try {
+            return invocation.proceed();
+        } finally {
+            ShardContext.set(null);
+        }
+    }
+
+    private Object all(MethodInvocation invocation) throws Throwable {
+        List<Object> merged = new ArrayList<>();
+        for (Object result : this.scatter(invocation, this.allShards(), shard -> invocation.getArguments()))
+            merged.addAll((Collection<?>) result);
+        return merged;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object page(MethodInvocation invocation, Pageable pageable, Function<Pageable, Object[]> arguments) throws Throwable {
+        if (pageable.isPaged() && pageable.getOffset() > this.maxMergeOffset)
+            throw new InvalidRequestException(Translator.toLocale(ValidationMsgConst.SHARDING_OFFSET_TOO_LARGE, new Object[]{this.maxMergeOffset}));
+
+        // each shard returns its rows up to the end of the requested page, sorted by id when no sort is given
+        Sort sort = pageable.getSort().isSorted() ? pageable.getSort() : Sort.by("id");
+        long window = pageable.isPaged() ? Math.min(Integer.MAX_VALUE, pageable.getOffset() + pageable.getPageSize()) : Integer.MAX_VALUE;
+        Pageable shardPageable = PageRequest.of(0, (int) window, sort);
+
+        List<List<Object>> contents = new ArrayList<>();
+        long total = 0;
+        for (Object result : this.scatter(invocation, this.allShards(), shard -> arguments.apply(shardPageable))) {
+            Page<Object> shardPage = (Page<Object>) result;
+            contents.add(shardPage.getContent());
+            total += shardPage.getTotalElements();
+        }
+        List<Object> merged = ShardMerge.sorted(contents, ShardMerge.comparator(sort), window);
+        if (pageable.isUnpaged())
+            return new PageImpl<>(merged, pageable, total);
+        int from = (int) Math.min(merged.size(), pageable.getOffset());
+        return new PageImpl<>(merged.subList(from, merged.size()), pageable, total);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Object byIds(MethodInvocation invocation, Collection<?> ids) throws Throwable {
+        List<Object> distinctIds = ids.stream().filter(Objects::nonNull).distinct().map(Object.class::cast).toList();
+        Map<Integer, List<Object>> idsByShard = new TreeMap<>();
+        distinctIds.forEach(id -> idsByShard.computeIfAbsent(ShardContext.shardOf(id, this.shards), shard -> new ArrayList<>()).add(id));
+        if (idsByShard.size() <= 1)
+            return this.onShard(invocation, idsByShard.isEmpty() ? 0 : idsByShard.keySet().iterator().next());
+
+        Map<Object, Object> found = new HashMap<>();
+        for (Object result : this.scatter(invocation, List.copyOf(idsByShard.keySet()), shard -> new Object[]{idsByShard.get(shard)}))
+            ((MultiGetResponse<?, ?>) result).getContent().forEach(dto -> found.put(dto.getId(), dto));
+        // same order of the requested ids as a single shard multi get
+        List content = distinctIds.stream().filter(found::containsKey).map(found::get).toList();
+        List missing = distinctIds.stream().filter(id -> !found.containsKey(id)).toList();
+        return MultiGetResponse.builder()
+                .content(content)
+                .missing(missing)
+                .build();
+    }
+
+    /**
+     * executes the invocation on the shards in parallel, each in its own transaction
+     * @return the results, in the order of the shards
+     */
+    private List<Object> scatter(MethodInvocation invocation, List<Integer> shards, Function<Integer, Object[]> arguments) throws Throwable {
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+        LocaleContext localeContext = LocaleContextHolder.getLocaleContext();
+        Map<CrudOperation, List<String>> fetchPlans = FetchPlanContext.current();
+        Long deadline = DeadlineContext.current();
+
+        List<Future<Object>> futures = new ArrayList<>(shards.size());
+        for (Integer shard : shards) {
+            MethodInvocation shardInvocation = ((ProxyMethodInvocation) invocation).invocableClone(arguments.apply(shard));
+            futures.add(this.executor.submit(() -> {
+                SecurityContextHolder.setContext(securityContext);
+                LocaleContextHolder.setLocaleContext(localeContext);
+                FetchPlanContext.set(fetchPlans);
+                DeadlineContext.set(deadline);
+                try {
+                    return this.onShard(shardInvocation, shard);
+                } catch (Exception | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new UndeclaredThrowableException(e);
+                } finally {
+                    DeadlineContext.clear();
+                    FetchPlanContext.clear();
+                    LocaleContextHolder.resetLocaleContext();
+                    SecurityContextHolder.clearContext();
+                }
+            }));
+        }
+
+        List<Object> results = new ArrayList<>(shards.size());
+        try {
+            for (Future<Object> future : futures)
+                results.add(future.get());
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw e.getCause();
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+        return results;
+    }
+
+    private List<Integer> allShards() {
+        List<Integer> all = new ArrayList<>(this.shards);
+        for (int shard = 0; shard < this.shards; shard++)
+            all.add(shard);
+        return all;
+    }
+
+    private int nextShard() {
+        return Math.floorMod(this.nextShard.getAndIncrement(), this.shards);
+    }
+}
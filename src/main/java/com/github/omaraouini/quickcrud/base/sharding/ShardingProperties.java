@@ -0,0 +1,46 @@
+package com.github.omaraouini.quickcrud.base.sharding;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * configuration of the shards used by the services annotated with {@link Sharded} <br>
+ * the init scripts are executed on each shard at startup, replacing the placeholders {@code {shard}} (index of the shard),
+ * {@code {shards}} (number of shards) and {@code {firstId}} (first id of the shard), eg:
+ * <pre>
+ *     {@code
+ *     quickcrud.sharding.enabled=true
+ *     quickcrud.sharding.shards[0].url=jdbc:h2:mem:shard0
+ *     quickcrud.sharding.shards[1].url=jdbc:h2:mem:shard1
+ *     quickcrud.sharding.init-scripts=classpath:sharding/schema.sql
+ *
+ *     create table measures (id bigint generated by default as identity (start with {firstId} increment by {shards}) primary key, ...);
+ *     }
+ * </pre>
+ * @author aouin
+ * Date: 22/10/2026
+ * Time: 09:20
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "quickcrud.sharding")
+public class ShardingProperties {
+    private boolean enabled = false;
+    private List<Shard> shards = new ArrayList<>();
+    private List<String> initScripts = new ArrayList<>();
+    private int parallelism = 16;
+    private long maxMergeOffset = 10000;
+
+    @Getter
+    @Setter
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+        private String driverClassName;
+    }
+}
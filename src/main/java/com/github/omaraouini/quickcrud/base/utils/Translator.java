@@ -26,6 +26,11 @@ public class Translator {
         return messageSource.getMessage(code,args, locale);
     }
 
+    public static String toLocale(String code, Object[] args, String defaultMessage) {
+        Locale locale = LocaleContextHolder.getLocale();
+        return messageSource.getMessage(code, args, defaultMessage, locale);
+    }
+
     public static String toLocale(String code) {
         Locale locale = LocaleContextHolder.getLocale();
         return messageSource.getMessage(code,null, locale);
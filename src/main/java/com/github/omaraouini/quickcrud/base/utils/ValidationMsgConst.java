@@ -23,5 +23,28 @@ public class ValidationMsgConst {
     public static final String FIELD_MAX_CHARS = "field-max-chars";
     public static final String FIELD_NOT_EMPTY = "field-notEmpty";
     public static final String FIELD_MIN_MAX_VALUE = "field-min-max-value";
+    public static final String TOO_MANY_IDS = "too-many-ids";
+    public static final String SERVICE_OVERLOADED = "service-overloaded";
+    public static final String INVALID_AGGREGATE = "invalid-aggregate";
+    public static final String TOO_MANY_BUCKETS = "too-many-buckets";
+    public static final String CHANGE_FEED_DISABLED = "change-feed-disabled";
+    public static final String CHANGES_NOT_SUPPORTED = "changes-not-supported";
+    public static final String INVALID_CURSOR = "invalid-cursor";
+    public static final String SHARDING_NOT_SUPPORTED = "sharding-not-supported";
+    public static final String SHARDING_OFFSET_TOO_LARGE = "sharding-offset-too-large";
+    public static final String DEADLINE_EXCEEDED = "deadline-exceeded";
+    public static final String INVALID_REQUEST_TIMEOUT = "invalid-request-timeout";
+    public static final String SORT_NOT_ALLOWED = "sort-not-allowed";
+    public static final String FILTER_NOT_ALLOWED = "filter-not-allowed";
+    public static final String BATCH_TOO_LARGE = "batch-too-large";
+    public static final String BATCH_INVALID_OPERATION = "batch-invalid-operation";
+    public static final String BATCH_INVALID_BODY = "batch-invalid-body";
+    public static final String BATCH_ROLLED_BACK = "batch-rolled-back";
+    public static final String BATCH_OPERATION_FAILED = "batch-operation-failed";
+    public static final String UPSERT_CODE_REQUIRED = "upsert-code-required";
+    public static final String GROUP_BY_NOT_ALLOWED = "group-by-not-allowed";
+    public static final String BATCH_FORBIDDEN = "batch-forbidden";
+    public static final String BATCH_SHARDED_ATOMIC = "batch-sharded-atomic";
+    public static final String BATCH_OPERATION_REJECTED = "batch-operation-rejected";
 
 }
@@ -0,0 +1,185 @@
+package com.github.omaraouini.quickcrud.base.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.omaraouini.quickcrud.base.dto.BaseDto;
+import com.github.omaraouini.quickcrud.base.service.BaseCrudService;
+import com.github.omaraouini.quickcrud.base.service.CrudService;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.BeanUtils;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * warms up the application before it accepts traffic: spring boot switches the readiness state to ACCEPTING_TRAFFIC
+ * only once the application runners have returned, so the readiness probe stays down during the warmup <br>
+ * the warmup:
+ * <ul>
+ *     <li>opens the connections of the pool together</li>
+ *     <li>reads a page of each crud service, by example and not, in their read only transactions, and serializes it with jackson,
+ *     so the service, mapper, criteria and hibernate query plan paths are compiled and the caches are primed</li>
+ *     <li>replays the recorded GET requests of {@code quickcrud.warmup.requests} against the local server,
+ *     to warm up the whole web stack (security, controllers, interceptors)</li>
+ * </ul>
+ * each call is executed {@code quickcrud.warmup.iterations} times, the latency curve of each call (first execution,
+ * then the average of each tenth of the iterations) and the warmup duration are logged, and recorded in the
+ * {@code quickcrud.warmup.duration} timer when micrometer is configured <br>
+ * a failing call is logged and skipped, the warmup never prevents the startup
+ * @author aouin
+ * Date: 22/10/2026
+ * Time: 20:10
+ */
+@Slf4j
+public class WarmupRunner implements ApplicationRunner {
+
+    private static final int CURVE_POINTS = 10;
+
+    private final WarmupProperties properties;
+    private final ApplicationContext applicationContext;
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private long deadlineNanos;
+
+    public WarmupRunner(WarmupProperties properties, ApplicationContext applicationContext, DataSource dataSource,
+                        ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.applicationContext = applicationContext;
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long startNanos = System.nanoTime();
+        this.deadlineNanos = startNanos + Duration.ofSeconds(this.properties.getMaxDurationSeconds()).toNanos();
+        log.info("warmup started");
+
+        this.openConnections();
+        this.applicationContext.getBeansOfType(CrudService.class).forEach(this::warmUpService);
+        this.replayRequests();
+
+        Duration duration = Duration.ofNanos(System.nanoTime() - startNanos);
+        if (this.meterRegistry != null)
+            Timer.builder("quickcrud.warmup.duration").register(this.meterRegistry).record(duration);
+        log.info("warmup completed in {} ms{}", duration.toMillis(), this.expired() ? ", stopped by the max duration" : "");
+    }
+
+    private void openConnections() {
+        int connections = this.properties.getConnections();
+        if (connections <= 0 && this.dataSource instanceof HikariDataSource hikariDataSource)
+            connections = hikariDataSource.getMinimumIdle();
+        List<Connection> opened = new ArrayList<>(connections);
+        try {
+            for (int index = 0; index < connections; index++)
+                opened.add(this.dataSource.getConnection());
+            log.info("warmup opened {} connections", opened.size());
+        } catch (SQLException e) {
+            log.warn("warmup opened {} connections of {}", opened.size(), connections, e);
+        } finally {
+            opened.forEach(this::close);
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void warmUpService(String name, CrudService service) {
+        Class<?>[] typeArguments = GenericTypeResolver.resolveTypeArguments(AopProxyUtils.ultimateTargetClass(service), BaseCrudService.class);
+        Pageable pageable = PageRequest.of(0, this.properties.getPageSize(), Sort.by("id"));
+        this.execute(name + ".get(pageable)", () -> this.objectMapper.writeValueAsBytes(service.get(pageable)));
+        if (typeArguments != null) {
+            BaseDto<?> example = (BaseDto<?>) BeanUtils.instantiateClass(typeArguments[1]);
+            this.execute(name + ".get(example, pageable)", () -> this.objectMapper.writeValueAsBytes(service.get(example, pageable)));
+        }
+    }
+
+    private void replayRequests() {
+        if (this.properties.getRequests().isEmpty())
+            return;
+        String port = this.applicationContext.getEnvironment().getProperty("local.server.port");
+        if (port == null) {
+            log.warn("warmup requests skipped, the local server port is unknown");
+            return;
+        }
+        HttpClient client = HttpClient.newHttpClient();
+        for (String path : this.properties.getRequests()) {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET();
+            this.properties.getHeaders().forEach(builder::header);
+            HttpRequest request = builder.build();
+            this.execute("GET " + path, () -> {
+                HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                if (response.statusCode() >= 400)
+                    throw new IllegalStateException("status " + response.statusCode());
+                return response.body();
+            });
+        }
+    }
+
+    /**
+     * executes the call the configured number of times and logs its latency curve
+     */
+    private void execute(String name, Callable<?> call) {
+        int iterations = Math.max(1, this.properties.getIterations());
+        long[] latencies = new long[iterations];
+        int executed = 0;
+        try {
+            while (executed < iterations && !this.expired()) {
+                long startNanos = System.nanoTime();
+                call.call();
+                latencies[executed++] = System.nanoTime() - startNanos;
+            }
+        } catch (Exception e) {
+            log.warn("warmup of {} failed after {} executions", name, executed, e);
+            return;
+        }
+        log.info("warmup of {}: {} executions, latency curve (us) {}", name, executed, this.curve(Arrays.copyOf(latencies, executed)));
+    }
+
+    private List<Long> curve(long[] latencies) {
+        List<Long> curve = new ArrayList<>();
+        if (latencies.length == 0)
+            return curve;
+        curve.add(latencies[0] / 1000);
+        int points = Math.min(CURVE_POINTS, latencies.length);
+        for (int point = 0; point < points; point++) {
+            int from = point * latencies.length / points;
+            int to = (point + 1) * latencies.length / points;
+            curve.add(Arrays.stream(latencies, from, to).sum() / Math.max(1, to - from) / 1000);
+        }
+        return curve;
+    }
+
+    private boolean expired() {
+        return System.nanoTime() - this.deadlineNanos > 0;
+    }
+
+    private void close(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("cannot close a warmup connection", e);
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.github.omaraouini.quickcrud.base.config;
+
+import com.github.omaraouini.quickcrud.base.controller.BaseController;
+import com.github.omaraouini.quickcrud.base.dto.BaseDto;
+import com.github.omaraouini.quickcrud.base.entity.BaseEntity;
+import com.github.omaraouini.quickcrud.base.mapping.BaseMapper;
+import com.github.omaraouini.quickcrud.base.repository.BaseRepository;
+import com.github.omaraouini.quickcrud.base.service.BaseCrudService;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Service;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.WebApplicationContext;
+
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * measures the time a GET of a page of 100 entities holds its jdbc connection and the memory it allocates,
+ * on an in memory H2 database: <br>
+ * before, with the open session in view and a read write transaction, the connection is held until the response is serialized;
+ * after, with {@code quickcrud.jpa.osiv-free=true} and the read only transactions of the service,
+ * it is released once the dtos are mapped and hibernate keeps no dirty checking snapshots
+ * @author aouin
+ * Date: 23/10/2026
+ * Time: 10:05
+ */
+@Slf4j
+class OsivFreeReadLoadTest {
+
+    private static final int ROWS = 100;
+    private static final int WARMUP_REQUESTS = 300;
+    private static final int REQUESTS = 1000;
+
+    private static final AtomicLong HELD_NANOS = new AtomicLong();
+    private static final AtomicLong CONNECTIONS = new AtomicLong();
+
+    @Test
+    void osivFreeReadsReleaseTheConnectionBeforeTheSerialization() throws Exception {
+        double[] before = this.measure(false, "/read-write-notes");
+        double[] after = this.measure(true, "/notes");
+        log.info("per GET of {} rows: connection held {} us before, {} us after; {} KB allocated before, {} KB after",
+                ROWS, Math.round(before[0] / 1000), Math.round(after[0] / 1000), Math.round(before[1] / 1024), Math.round(after[1] / 1024));
+
+        assertThat(after[0]).isLessThan(before[0] * 0.8);
+        assertThat(after[1]).isLessThan(before[1]);
+    }
+
+    /**
+     * @return the average connection hold time (nanoseconds) and the average bytes allocated by the thread of a request
+     */
+    private double[] measure(boolean osivFree, String path) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(OsivTestApplication.class)
+                .properties("server.port=0", "quickcrud.jpa.osiv-free=" + osivFree, "spring.datasource.url=jdbc:h2:mem:osiv" + osivFree)
+                .run()) {
+            NoteService service = context.getBean(NoteService.class);
+            for (int row = 0; row < ROWS; row++)
+                service.post(NoteDto.builder().text("note number " + row + " of the osiv free read load test").build());
+
+            MockMvc mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+            for (int request = 0; request < WARMUP_REQUESTS; request++)
+                mockMvc.perform(get(path).param("size", String.valueOf(ROWS))).andExpect(status().isOk());
+
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            HELD_NANOS.set(0);
+            CONNECTIONS.set(0);
+            long allocated = threads.getCurrentThreadAllocatedBytes();
+            for (int request = 0; request < REQUESTS; request++)
+                mockMvc.perform(get(path).param("size", String.valueOf(ROWS))).andExpect(status().isOk());
+            allocated = threads.getCurrentThreadAllocatedBytes() - allocated;
+            assertThat(CONNECTIONS.get()).isEqualTo(REQUESTS);
+            return new double[]{(double) HELD_NANOS.get() / REQUESTS, (double) allocated / REQUESTS};
+        }
+    }
+
+    /**
+     * the nested classes of the other tests are not scanned
+     */
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @ComponentScan(basePackages = "com.github.omaraouini.quickcrud.base",
+            excludeFilters = @ComponentScan.Filter(type = FilterType.REGEX, pattern = ".*Test\\$.*"))
+    @EnableJpaRepositories(considerNestedRepositories = true)
+    @Import({NoteMapper.class, NoteService.class, ReadWriteNoteService.class, NoteController.class, ReadWriteNoteController.class})
+    static class OsivTestApplication {
+
+        /**
+         * measures the time each connection is held, from its checkout to its close
+         */
+        @Bean
+        static BeanPostProcessor connectionHoldTimer() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+                    if (!(bean instanceof DataSource dataSource))
+                        return bean;
+                    return new DelegatingDataSource(dataSource) {
+                        @Override
+                        @NonNull
+                        public Connection getConnection() throws java.sql.SQLException {
+                            Connection connection = super.getConnection();
+                            long checkout = System.nanoTime();
+                            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                                    (proxy, method, arguments) -> {
+                                        if (method.getName().equals("close")) {
+                                            HELD_NANOS.addAndGet(System.nanoTime() - checkout);
+                                            CONNECTIONS.incrementAndGet();
+                                        }
+                                        try {
+                                            return method.invoke(connection, arguments);
+                                        } catch (InvocationTargetException e) {
+                                            throw e.getCause();
+                                        }
+                                    });
+                        }
+                    };
+                }
+            };
+        }
+    }
+
+    @Entity(name = "Note")
+    @Table(name = "notes")
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    static class Note extends BaseEntity<Long> {
+        private String text;
+    }
+
+    @SuperBuilder
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    static class NoteDto extends BaseDto<Long> {
+        private String text;
+    }
+
+    interface NoteRepository extends BaseRepository<Note, Long> {
+    }
+
+    @Component
+    static class NoteMapper implements BaseMapper<Note, NoteDto, Long> {
+        @Override
+        public NoteDto mapFrom(Note entity) {
+            NoteDto dto = new NoteDto();
+            dto.setId(entity.getId());
+            dto.setText(entity.getText());
+            return dto;
+        }
+
+        @Override
+        public Note mapFrom(NoteDto dto) {
+            Note entity = new Note();
+            entity.setId(dto.getId());
+            entity.setText(dto.getText());
+            return entity;
+        }
+    }
+
+    @Service
+    static class NoteService extends BaseCrudService<Note, NoteDto, Long, NoteRepository> {
+        NoteService(NoteRepository repository, NoteMapper mapper) {
+            super(repository, mapper);
+        }
+    }
+
+    /**
+     * the paged get as it was before the read only transactions
+     */
+    @Service
+    static class ReadWriteNoteService extends BaseCrudService<Note, NoteDto, Long, NoteRepository> {
+        ReadWriteNoteService(NoteRepository repository, NoteMapper mapper) {
+            super(repository, mapper);
+        }
+
+        @Override
+        @Transactional
+        public Page<NoteDto> get(NoteDto exampleDto, Pageable pageable) {
+            return super.get(exampleDto, pageable);
+        }
+    }
+
+    @RestController
+    @RequestMapping("/notes")
+    static class NoteController extends BaseController<NoteDto, Long> {
+        NoteController(NoteService service) {
+            super(service);
+        }
+    }
+
+    @RestController
+    @RequestMapping("/read-write-notes")
+    static class ReadWriteNoteController extends BaseController<NoteDto, Long> {
+        ReadWriteNoteController(ReadWriteNoteService service) {
+            super(service);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.github.omaraouini.quickcrud.base.deadline;
+
+import com.github.omaraouini.quickcrud.base.dto.BaseDto;
+import com.github.omaraouini.quickcrud.base.entity.BaseEntity;
+import com.github.omaraouini.quickcrud.base.mapping.BaseMapper;
+import com.github.omaraouini.quickcrud.base.repository.BaseRepository;
+import com.github.omaraouini.quickcrud.base.service.BaseCrudService;
+import jakarta.persistence.Entity;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Subselect;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionTimedOutException;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+/**
+ * tests of the {@link DeadlineJpaDialect} on an in memory H2 database: the get by id of an entity mapped on a slow query
+ * (a load by {@code find}, not a query created by the service) must be cancelled by the driver once the deadline of the request has passed
+ * @author aouin
+ * Date: 23/10/2026
+ * Time: 10:25
+ */
+class DeadlineTimeoutTest {
+
+    private static ConfigurableApplicationContext context;
+    private static SlowNoteService service;
+
+    @BeforeAll
+    static void start() {
+        context = new SpringApplicationBuilder(DeadlineTestApplication.class)
+                .properties("server.port=0", "quickcrud.deadline.enabled=true", "spring.datasource.url=jdbc:h2:mem:deadline")
+                .run();
+        service = context.getBean(SlowNoteService.class);
+    }
+
+    @AfterAll
+    static void stop() {
+        context.close();
+    }
+
+    @AfterEach
+    void clear() {
+        DeadlineContext.clear();
+    }
+
+    @Test
+    void slowGetIsCutOffByTheDeadline() {
+        long start = System.nanoTime();
+        assertThat(service.get(1L).getText()).isEqualTo("slow");
+        long unboundedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertThat(unboundedMillis).isGreaterThan(4000);
+
+        DeadlineContext.set(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(1500));
+        start = System.nanoTime();
+        Throwable failure = catchThrowable(() -> service.get(1L));
+        long boundedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(failure).isInstanceOfAny(QueryTimeoutException.class, TransactionTimedOutException.class);
+        // the jdbc query timeout has a granularity of one second, the 1.5 second budget is rounded up to 2
+        assertThat(boundedMillis).isLessThan(3000);
+    }
+
+    @Test
+    void getAfterTheDeadlineDoesNotReachTheDatabase() {
+        DeadlineContext.set(System.nanoTime() - 1);
+        long start = System.nanoTime();
+
+        assertThat(catchThrowable(() -> service.get(1L))).isInstanceOf(TransactionTimedOutException.class);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(1000);
+    }
+
+    /**
+     * the nested classes of the other tests are not scanned
+     */
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @ComponentScan(basePackages = "com.github.omaraouini.quickcrud.base",
+            excludeFilters = @ComponentScan.Filter(type = FilterType.REGEX, pattern = ".*Test\\$.*"))
+    @EnableJpaRepositories(considerNestedRepositories = true)
+    @Import({SlowNoteMapper.class, SlowNoteService.class})
+    static class DeadlineTestApplication {
+    }
+
+    /**
+     * each load scans a hundred million numbers before returning its row, a few seconds on H2
+     */
+    @Entity(name = "SlowNote")
+    @Subselect("select r.x as id, false as deleted, 'slow' as text from system_range(1, 10) r"
+            + " where (select count(*) from system_range(1, 100000000) s where mod(s.x, 7) = 8) = 0")
+    @Immutable
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    static class SlowNote extends BaseEntity<Long> {
+        private String text;
+    }
+
+    @SuperBuilder
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    static class SlowNoteDto extends BaseDto<Long> {
+        private String text;
+    }
+
+    interface SlowNoteRepository extends BaseRepository<SlowNote, Long> {
+    }
+
+    @Component
+    static class SlowNoteMapper implements BaseMapper<SlowNote, SlowNoteDto, Long> {
+        @Override
+        public SlowNoteDto mapFrom(SlowNote entity) {
+            SlowNoteDto dto = new SlowNoteDto();
+            dto.setId(entity.getId());
+            dto.setText(entity.getText());
+            return dto;
+        }
+
+        @Override
+        public SlowNote mapFrom(SlowNoteDto dto) {
+            SlowNote entity = new SlowNote();
+            entity.setId(dto.getId());
+            entity.setText(dto.getText());
+            return entity;
+        }
+    }
+
+    @Service
+    static class SlowNoteService extends BaseCrudService<SlowNote, SlowNoteDto, Long, SlowNoteRepository> {
+        SlowNoteService(SlowNoteRepository repository, SlowNoteMapper mapper) {
+            super(repository, mapper);
+        }
+    }
+}
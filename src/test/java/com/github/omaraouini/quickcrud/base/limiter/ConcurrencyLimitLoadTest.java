@@ -0,0 +1,169 @@
+package com.github.omaraouini.quickcrud.base.limiter;
+
+import com.github.omaraouini.quickcrud.base.controller.BaseController;
+import com.github.omaraouini.quickcrud.base.dto.BaseDto;
+import com.github.omaraouini.quickcrud.base.exception.ServiceOverloadedException;
+import com.github.omaraouini.quickcrud.base.utils.Translator;
+import lombok.experimental.SuperBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.StaticMessageSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * load test of the adaptive concurrency limits: closed loop clients call a controller backed by a database
+ * of 8 connections (4 ms per request), a response is useful only when it is received within the 40 ms budget of the client <br>
+ * without limit, the goodput collapses once the requests queue on the pool longer than the budget,
+ * with the limit it stays flat past the saturation, the excess requests being rejected immediately <br>
+ * the limit of a controller is shared by its fast and slow endpoints, a mix of latencies under the capacity must not shrink it
+ * @author aouin
+ * Date: 23/10/2026
+ * Time: 09:10
+ */
+@Slf4j
+class ConcurrencyLimitLoadTest {
+
+    private static final int CONNECTIONS = 8;
+    private static final long SERVICE_MILLIS = 4;
+    private static final long BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(40);
+    private static final long RETRY_MILLIS = 5;
+    private static final long DURATION_NANOS = TimeUnit.MILLISECONDS.toNanos(1500);
+
+    @BeforeAll
+    static void messages() {
+        StaticMessageSource messageSource = new StaticMessageSource();
+        messageSource.setUseCodeAsDefaultMessage(true);
+        new Translator(messageSource);
+    }
+
+    @Test
+    void goodputStaysFlatPastSaturation() throws Exception {
+        double saturated = this.goodput(CONNECTIONS, null);
+        double overloaded = this.goodput(16 * CONNECTIONS, null);
+        double limitedSaturated = this.goodput(CONNECTIONS, this.interceptor());
+        double limitedOverloaded = this.goodput(16 * CONNECTIONS, this.interceptor());
+        log.info("goodput (requests/s within the budget): {} clients {} without limit, {} with limit; {} clients {} without limit, {} with limit",
+                CONNECTIONS, Math.round(saturated), Math.round(limitedSaturated),
+                16 * CONNECTIONS, Math.round(overloaded), Math.round(limitedOverloaded));
+
+        assertThat(overloaded).isLessThan(saturated * 0.5);
+        assertThat(limitedOverloaded).isGreaterThan(saturated * 0.7);
+    }
+
+    @Test
+    void mixedLatenciesDoNotShrinkTheLimit() throws Exception {
+        ConcurrencyLimitInterceptor interceptor = this.interceptor();
+        HandlerMethod handler = new HandlerMethod(new ItemController(), BaseController.class.getMethod("get", Serializable.class));
+        AtomicLong accepted = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        long end = System.nanoTime() + DURATION_NANOS;
+
+        // 8 clients, far under the initial limit, a third of the calls on an endpoint 20 times slower
+        List<Thread> threads = new ArrayList<>(CONNECTIONS);
+        for (int client = 0; client < CONNECTIONS; client++) {
+            Thread thread = new Thread(() -> {
+                while (System.nanoTime() < end) {
+                    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/items/1");
+                    MockHttpServletResponse response = new MockHttpServletResponse();
+                    try {
+                        interceptor.preHandle(request, response, handler);
+                    } catch (ServiceOverloadedException e) {
+                        rejected.incrementAndGet();
+                        sleep(RETRY_MILLIS);
+                        continue;
+                    }
+                    sleep(ThreadLocalRandom.current().nextInt(3) == 0 ? 20 * SERVICE_MILLIS / 4 : SERVICE_MILLIS / 4);
+                    interceptor.afterCompletion(request, response, handler, null);
+                    accepted.incrementAndGet();
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads)
+            thread.join();
+        log.info("mixed latencies: {} requests accepted, {} rejected", accepted.get(), rejected.get());
+
+        assertThat(rejected.get()).isLessThan(accepted.get() / 100);
+    }
+
+    private ConcurrencyLimitInterceptor interceptor() {
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.setEnabled(true);
+        return new ConcurrencyLimitInterceptor(properties, null);
+    }
+
+    /**
+     * @return the responses received within the budget per second
+     */
+    private double goodput(int clients, ConcurrencyLimitInterceptor interceptor) throws Exception {
+        Semaphore database = new Semaphore(CONNECTIONS, true);
+        HandlerMethod handler = new HandlerMethod(new ItemController(), BaseController.class.getMethod("get", Serializable.class));
+        AtomicLong useful = new AtomicLong();
+        long end = System.nanoTime() + DURATION_NANOS;
+
+        List<Thread> threads = new ArrayList<>(clients);
+        for (int client = 0; client < clients; client++) {
+            Thread thread = new Thread(() -> {
+                while (System.nanoTime() < end) {
+                    long start = System.nanoTime();
+                    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/items/1");
+                    MockHttpServletResponse response = new MockHttpServletResponse();
+                    try {
+                        if (interceptor != null)
+                            interceptor.preHandle(request, response, handler);
+                    } catch (ServiceOverloadedException e) {
+                        sleep(RETRY_MILLIS);
+                        continue;
+                    }
+                    database.acquireUninterruptibly();
+                    try {
+                        sleep(SERVICE_MILLIS);
+                    } finally {
+                        database.release();
+                    }
+                    if (interceptor != null)
+                        interceptor.afterCompletion(request, response, handler, null);
+                    if (System.nanoTime() - start <= BUDGET_NANOS)
+                        useful.incrementAndGet();
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads)
+            thread.join();
+        return useful.get() * 1e9 / DURATION_NANOS;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @SuperBuilder
+    static class ItemDto extends BaseDto<Integer> {
+    }
+
+    static class ItemController extends BaseController<ItemDto, Integer> {
+        ItemController() {
+            super(null);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.github.omaraouini.quickcrud.base.repository.specification;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * measures the IN criteria at 10, 1k and 100k values on an in memory H2 database, with lists of varying sizes
+ * (between half and all of the values) drawn from twice as many ids as the largest list: <br>
+ * before, one parameter per value, each size of list is a new statement for the plan and statement caches;
+ * after, with {@link InPredicates}, the lists are padded to a power of two or bound as an array parameter,
+ * and only a couple of statements are produced
+ * @author aouin
+ * Date: 23/10/2026
+ * Time: 10:20
+ */
+@Slf4j
+class InPredicatesLoadTest {
+
+    private static final int ROWS = 10_000;
+    private static final int IDS = 200_000;
+
+    private static final Set<String> STATEMENTS = ConcurrentHashMap.newKeySet();
+
+    private static ConfigurableApplicationContext context;
+    private static ItemRepository repository;
+
+    @BeforeAll
+    static void start() {
+        context = new SpringApplicationBuilder(InPredicatesTestApplication.class)
+                .properties("server.port=0", "spring.datasource.url=jdbc:h2:mem:in-predicates",
+                        "spring.jpa.properties.hibernate.session_factory.statement_inspector=" + StatementCollector.class.getName())
+                .run();
+        repository = context.getBean(ItemRepository.class);
+        context.getBean(JdbcTemplate.class).batchUpdate("insert into items (id, name) values (?, ?)",
+                LongStream.rangeClosed(1, ROWS).mapToObj(id -> new Object[]{id, "item " + id}).toList());
+    }
+
+    @AfterAll
+    static void stop() {
+        context.close();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 1_000, 100_000})
+    void paddedAndArrayListsReuseTheirStatements(int values) {
+        // H2 compares each row with all the values of a list or an array, the large queries take hundreds of milliseconds
+        int queries = values < IDS / 2 ? 50 : 5;
+        double[] before = this.measure(values, queries, ids -> (root, query, criteriaBuilder) -> {
+            jakarta.persistence.criteria.CriteriaBuilder.In<Object> in = criteriaBuilder.in(root.get("id"));
+            ids.forEach(in::value);
+            return in;
+        });
+        double[] after = this.measure(values, queries, ids -> (root, query, criteriaBuilder) -> InPredicates.in(criteriaBuilder, root.get("id"), ids));
+        log.info("{} queries of {} to {} values: {} statements and {} ms per query before, {} statements and {} ms per query after",
+                queries, values / 2, values, (int) before[0], Math.round(before[1] * 10) / 10.0, (int) after[0], Math.round(after[1] * 10) / 10.0);
+
+        assertThat(after[0]).isLessThanOrEqualTo(2).isLessThan(before[0]);
+    }
+
+    /**
+     * @return the number of distinct statements and the average milliseconds per query
+     */
+    private double[] measure(int values, int queries, Function<List<Long>, Specification<Item>> specification) {
+        Random random = new Random(values);
+        List<Long> ids = new ArrayList<>(LongStream.rangeClosed(1, IDS).boxed().toList());
+        Collections.shuffle(ids, random);
+        this.count(ids, random, values, specification);
+
+        STATEMENTS.clear();
+        long start = System.nanoTime();
+        for (int query = 0; query < queries; query++)
+            this.count(ids, random, values, specification);
+        return new double[]{STATEMENTS.size(), (System.nanoTime() - start) / 1e6 / queries};
+    }
+
+    private void count(List<Long> ids, Random random, int values, Function<List<Long>, Specification<Item>> specification) {
+        int size = values / 2 + random.nextInt(values / 2 + 1);
+        int from = random.nextInt(IDS - size + 1);
+        List<Long> list = ids.subList(from, from + size);
+        assertThat(repository.count(specification.apply(list))).isEqualTo(list.stream().filter(id -> id <= ROWS).count());
+    }
+
+    /**
+     * collects the distinct statements sent to the database
+     */
+    public static class StatementCollector implements StatementInspector {
+        @Override
+        public String inspect(String sql) {
+            if (sql.contains("items"))
+                STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EnableJpaRepositories(considerNestedRepositories = true)
+    static class InPredicatesTestApplication {
+    }
+
+    @Entity(name = "Item")
+    @Table(name = "items")
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    static class Item {
+        @Id
+        private Long id;
+        private String name;
+    }
+
+    interface ItemRepository extends JpaRepository<Item, Long>, JpaSpecificationExecutor<Item> {
+    }
+}
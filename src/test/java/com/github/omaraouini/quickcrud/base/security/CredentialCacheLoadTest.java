@@ -0,0 +1,134 @@
+package com.github.omaraouini.quickcrud.base.security;
+
+import jakarta.servlet.Filter;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.config.Customizer.withDefaults;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * measures the throughput of http basic requests through the security filter chain of the application
+ * (not the local profile chain of the base package), with a bcrypt password encoder: <br>
+ * before, the password is verified by bcrypt on every request;
+ * after, with {@code quickcrud.security.credential-cache.enabled=true}, it is verified once and the requests hit the cache
+ * @author aouin
+ * Date: 23/10/2026
+ * Time: 10:15
+ */
+@Slf4j
+class CredentialCacheLoadTest {
+
+    private static final String AUTHORIZATION = "Basic " + Base64.getEncoder().encodeToString("user:password".getBytes(StandardCharsets.UTF_8));
+    private static final int WARMUP_REQUESTS = 20;
+    private static final int UNCACHED_REQUESTS = 100;
+    private static final int CACHED_REQUESTS = 5000;
+
+    private static final AtomicLong VERIFICATIONS = new AtomicLong();
+
+    @Test
+    void cachedCredentialsAreNotVerifiedOnEveryRequest() throws Exception {
+        double before = this.measure(false, UNCACHED_REQUESTS);
+        assertThat(VERIFICATIONS.get()).isEqualTo(UNCACHED_REQUESTS);
+        double after = this.measure(true, CACHED_REQUESTS);
+        assertThat(VERIFICATIONS.get()).isZero();
+        log.info("authenticated requests per second of one client: {} before, {} after", Math.round(before), Math.round(after));
+
+        assertThat(after).isGreaterThan(before * 10);
+    }
+
+    /**
+     * @return the authenticated requests per second of one client
+     */
+    private double measure(boolean credentialCache, int requests) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(CredentialCacheTestApplication.class)
+                .properties("server.port=0", CredentialCacheConfigurer.ENABLED + "=" + credentialCache,
+                        "spring.datasource.url=jdbc:h2:mem:credentials" + credentialCache)
+                .run()) {
+            MockMvc mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context)
+                    .addFilters(context.getBean("springSecurityFilterChain", Filter.class))
+                    .build();
+            mockMvc.perform(get("/hello")).andExpect(status().isUnauthorized());
+            for (int request = 0; request < WARMUP_REQUESTS; request++)
+                mockMvc.perform(get("/hello").header(HttpHeaders.AUTHORIZATION, AUTHORIZATION)).andExpect(status().isOk());
+
+            VERIFICATIONS.set(0);
+            long start = System.nanoTime();
+            for (int request = 0; request < requests; request++)
+                mockMvc.perform(get("/hello").header(HttpHeaders.AUTHORIZATION, AUTHORIZATION)).andExpect(status().isOk());
+            return requests * 1e9 / (System.nanoTime() - start);
+        }
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EnableWebSecurity
+    @Import(HelloController.class)
+    static class CredentialCacheTestApplication {
+
+        @Bean
+        SecurityFilterChain applicationFilterChain(HttpSecurity httpSecurity) throws Exception {
+            return httpSecurity
+                    .csrf(csrf -> csrf.disable())
+                    .authorizeHttpRequests(auth -> auth.anyRequest().authenticated())
+                    .httpBasic(withDefaults())
+                    .build();
+        }
+
+        /**
+         * bcrypt with its default strength, counting the password verifications
+         */
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder() {
+                @Override
+                public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                    VERIFICATIONS.incrementAndGet();
+                    return super.matches(rawPassword, encodedPassword);
+                }
+            };
+        }
+
+        @Bean
+        UserDetailsService userDetailsService(PasswordEncoder passwordEncoder) {
+            return new InMemoryUserDetailsManager(User.withUsername("user")
+                    .password(passwordEncoder.encode("password"))
+                    .roles("USER")
+                    .build());
+        }
+    }
+
+    @RestController
+    static class HelloController {
+        @GetMapping("/hello")
+        String hello() {
+            return "hello";
+        }
+    }
+}
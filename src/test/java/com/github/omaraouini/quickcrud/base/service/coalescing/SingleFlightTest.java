@@ -0,0 +1,102 @@
+package com.github.omaraouini.quickcrud.base.service.coalescing;
+
+import com.github.omaraouini.quickcrud.base.deadline.DeadlineContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionTimedOutException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * tests of the {@link SingleFlight}: a leading call with an expired or slow deadline joined by a caller with a healthy one,
+ * the caller must neither receive the failure of the leader nor wait past its own deadline
+ * @author aouin
+ * Date: 23/10/2026
+ * Time: 10:00
+ */
+class SingleFlightTest {
+
+    private static final String KEY = "get:1";
+
+    private final SingleFlight<String, String> flight = new SingleFlight<>(5000);
+
+    @AfterEach
+    void clear() {
+        DeadlineContext.clear();
+    }
+
+    @Test
+    void successIsShared() throws Exception {
+        CountDownLatch leading = new CountDownLatch(1);
+        CompletableFuture<String> leader = this.lead(null, () -> {
+            leading.countDown();
+            sleep(300);
+            return "leader";
+        });
+        leading.await();
+
+        assertThat(this.flight.execute(KEY, () -> "waiter")).isEqualTo("leader");
+        assertThat(leader.get()).isEqualTo("leader");
+    }
+
+    @Test
+    void failureOfAnExpiredLeaderIsNotShared() throws Exception {
+        CountDownLatch leading = new CountDownLatch(1);
+        CompletableFuture<String> leader = this.lead(1L, () -> {
+            leading.countDown();
+            sleep(300);
+            throw new TransactionTimedOutException("the deadline of the request has passed");
+        });
+        leading.await();
+
+        DeadlineContext.set(System.nanoTime() + TimeUnit.SECONDS.toNanos(10));
+        assertThat(this.flight.execute(KEY, () -> "waiter")).isEqualTo("waiter");
+        assertThatThrownBy(leader::join).hasCauseInstanceOf(TransactionTimedOutException.class);
+    }
+
+    @Test
+    void waitIsBoundedByTheDeadlineOfTheCaller() throws Exception {
+        CountDownLatch leading = new CountDownLatch(1);
+        CompletableFuture<String> leader = this.lead(null, () -> {
+            leading.countDown();
+            sleep(2000);
+            return "leader";
+        });
+        leading.await();
+
+        DeadlineContext.set(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100));
+        long start = System.nanoTime();
+        assertThat(this.flight.execute(KEY, () -> "waiter")).isEqualTo("waiter");
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(1000);
+        assertThat(leader.get()).isEqualTo("leader");
+    }
+
+    /**
+     * starts the leading call in its own thread, with a deadline of {@code timeoutMillis} when not null
+     */
+    private CompletableFuture<String> lead(Long timeoutMillis, Supplier<String> call) {
+        return CompletableFuture.supplyAsync(() -> {
+            if (timeoutMillis != null)
+                DeadlineContext.set(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis));
+            try {
+                return this.flight.execute(KEY, call);
+            } finally {
+                DeadlineContext.clear();
+            }
+        }, runnable -> new Thread(runnable).start());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.github.omaraouini.quickcrud.base.sharding;
+
+import com.github.omaraouini.quickcrud.base.controller.BaseController;
+import com.github.omaraouini.quickcrud.base.controller.BatchController;
+import com.github.omaraouini.quickcrud.base.dto.BaseDto;
+import com.github.omaraouini.quickcrud.base.dto.BatchOperation;
+import com.github.omaraouini.quickcrud.base.dto.BatchRequest;
+import com.github.omaraouini.quickcrud.base.dto.MultiGetResponse;
+import com.github.omaraouini.quickcrud.base.entity.BaseEntity;
+import com.github.omaraouini.quickcrud.base.exception.InvalidRequestException;
+import com.github.omaraouini.quickcrud.base.mapping.BaseMapper;
+import com.github.omaraouini.quickcrud.base.repository.BaseRepository;
+import com.github.omaraouini.quickcrud.base.service.BaseCrudService;
+import com.github.omaraouini.quickcrud.base.service.coalescing.CoalescedReads;
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Service;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * integration test of the sharded services on three in memory H2 shards: the routing by id, the round robin posts,
+ * the merge of the paged gets and the multi get across the shards <br>
+ * the service also coalesces its reads and the entity is cached with the query cache, the identical calls scattered on the shards
+ * must not be coalesced nor cached together, and its operations cannot run in an atomic batch
+ * @author aouin
+ * Date: 23/10/2026
+ * Time: 09:55
+ */
+@SpringBootTest(classes = ShardingIntegrationTest.ShardingTestApplication.class, properties = {
+        "quickcrud.sharding.enabled=true",
+        "quickcrud.sharding.shards[0].url=jdbc:h2:mem:shard0;DB_CLOSE_DELAY=-1",
+        "quickcrud.sharding.shards[1].url=jdbc:h2:mem:shard1;DB_CLOSE_DELAY=-1",
+        "quickcrud.sharding.shards[2].url=jdbc:h2:mem:shard2;DB_CLOSE_DELAY=-1",
+        "quickcrud.sharding.init-scripts=classpath:sharding/measures.sql",
+        "quickcrud.jpa.cache.enabled=true",
+        "quickcrud.jpa.cache.query-cache=true",
+        "quickcrud.batch.enabled=true"
+})
+class ShardingIntegrationTest {
+
+    private static final int SHARDS = 3;
+
+    @Autowired
+    private MeasureService service;
+
+    @Autowired
+    private ShardRoutingDataSource dataSource;
+
+    @Autowired
+    private BatchController batchController;
+
+    @BeforeEach
+    void clean() {
+        for (int shard = 0; shard < SHARDS; shard++)
+            this.onShard(shard, () -> new JdbcTemplate(this.dataSource).update("delete from measures"));
+    }
+
+    @Test
+    void postsAreSpreadInRoundRobinAndRoutedById() {
+        List<MeasureDto> created = this.post(30, 10, 20, 60, 50, 40);
+
+        for (int shard = 0; shard < SHARDS; shard++) {
+            int current = shard;
+            List<Long> ids = this.onShard(shard, () -> new JdbcTemplate(this.dataSource).queryForList("select id from measures", Long.class));
+            assertThat(ids).hasSize(2).allMatch(id -> ShardContext.shardOf(id, SHARDS) == current);
+        }
+        for (MeasureDto dto : created)
+            assertThat(this.service.get(dto.getId()).getReading()).isEqualTo(dto.getReading());
+    }
+
+    @Test
+    void pagedGetIsMergedOnItsSort() {
+        this.post(30, 10, 20, 60, 50, 40, 70);
+
+        Page<MeasureDto> page = this.service.get(PageRequest.of(1, 3, Sort.by("reading")));
+        assertThat(page.getContent()).extracting(MeasureDto::getReading).containsExactly(40, 50, 60);
+        assertThat(page.getTotalElements()).isEqualTo(7);
+
+        Page<MeasureDto> unsorted = this.service.get(PageRequest.of(0, 7));
+        assertThat(unsorted.getContent()).extracting(MeasureDto::getId).isSorted();
+    }
+
+    @Test
+    void getAllReadsEveryShard() {
+        this.post(10, 20, 30, 40, 50);
+
+        // the second call is answered by the query cache
+        for (int call = 0; call < 2; call++)
+            assertThat(this.service.get()).extracting(MeasureDto::getReading).containsExactlyInAnyOrder(10, 20, 30, 40, 50);
+    }
+
+    @Test
+    void multiGetIsExecutedOnTheShardsOfTheIds() {
+        List<Long> ids = new ArrayList<>(this.post(10, 20, 30, 40).stream().map(MeasureDto::getId).toList());
+        ids.add(1, 999_999L);
+
+        MultiGetResponse<MeasureDto, Long> response = this.service.get(ids);
+        assertThat(response.getContent()).extracting(MeasureDto::getReading).containsExactly(10, 20, 30, 40);
+        assertThat(response.getMissing()).containsExactly(999_999L);
+    }
+
+    @Test
+    void atomicBatchIsRejected() {
+        BatchRequest request = BatchRequest.builder()
+                .operations(List.of(BatchOperation.builder().method("POST").path("/measures").build()))
+                .build();
+
+        assertThatThrownBy(() -> this.batchController.batch(request, new MockHttpServletRequest(), new MockHttpServletResponse()))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+
+    private List<MeasureDto> post(int... readings) {
+        List<MeasureDto> created = new ArrayList<>();
+        for (int reading : readings)
+            created.add(this.service.post(MeasureDto.builder().reading(reading).build()));
+        return created;
+    }
+
+    private <T> T onShard(int shard, Supplier<T> action) {
+        ShardContext.set(shard);
+        try {
+            return action.get();
+        } finally {
+            ShardContext.set(null);
+        }
+    }
+
+    /**
+     * the nested classes of a test are excluded from the component scan, the test beans are imported
+     */
+    @SpringBootApplication(scanBasePackages = "com.github.omaraouini.quickcrud.base")
+    @EnableJpaRepositories(considerNestedRepositories = true)
+    @Import({MeasureMapper.class, MeasureService.class, MeasureController.class})
+    static class ShardingTestApplication {
+    }
+
+    @Entity(name = "Measure")
+    @Cacheable
+    @Table(name = "measures")
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    static class Measure extends BaseEntity<Long> {
+        private Integer reading;
+    }
+
+    @SuperBuilder
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    static class MeasureDto extends BaseDto<Long> {
+        private Integer reading;
+    }
+
+    interface MeasureRepository extends BaseRepository<Measure, Long> {
+    }
+
+    @Component
+    static class MeasureMapper implements BaseMapper<Measure, MeasureDto, Long> {
+        @Override
+        public MeasureDto mapFrom(Measure entity) {
+            MeasureDto dto = new MeasureDto();
+            dto.setId(entity.getId());
+            dto.setReading(entity.getReading());
+            return dto;
+        }
+
+        @Override
+        public Measure mapFrom(MeasureDto dto) {
+            Measure entity = new Measure();
+            entity.setId(dto.getId());
+            entity.setReading(dto.getReading());
+            return entity;
+        }
+    }
+
+    @Service
+    @Sharded
+    @CoalescedReads
+    static class MeasureService extends BaseCrudService<Measure, MeasureDto, Long, MeasureRepository> {
+        MeasureService(MeasureRepository repository, MeasureMapper mapper) {
+            super(repository, mapper);
+        }
+    }
+
+    @RestController
+    @RequestMapping("/measures")
+    static class MeasureController extends BaseController<MeasureDto, Long> {
+        MeasureController(MeasureService service) {
+            super(service);
+        }
+    }
+}
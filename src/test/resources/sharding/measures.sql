@@ -0,0 +1 @@
+create table measures (id bigint generated by default as identity (start with {firstId} increment by {shards}) primary key, deleted boolean not null, reading integer);